@@ -0,0 +1,89 @@
+package com.eternify.backend.admin.controller;
+
+import com.eternify.backend.common.api.ApiResponse;
+import com.eternify.backend.common.database.IndexManager;
+import com.eternify.backend.common.exception.BusinessException;
+import com.eternify.backend.song.service.ListenEventService;
+import com.eternify.backend.song.service.RecommendationFeedService;
+import com.eternify.backend.song.tombstone.SongReconciler;
+import com.eternify.backend.user.model.Role;
+import com.eternify.backend.util.AuthenticationUtils;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "admin")
+@RequestMapping("/api/admin/v1")
+public class AdminController {
+    @Value("${api.token}")
+    private String apiToken;
+
+    private final IndexManager indexManager;
+    private final RecommendationFeedService recommendationFeedService;
+    private final ListenEventService listenEventService;
+    private final SongReconciler songReconciler;
+
+    @GetMapping("/index_coverage")
+    public ResponseEntity<ApiResponse> getIndexCoverage(@RequestHeader("X-auth-token") String token) {
+        try {
+            Assert.isTrue(apiToken.equals(token), "Invalid token");
+            checkAdmin();
+            return ResponseEntity.ok(ApiResponse.success("Get index coverage success", indexManager.explainQueryShapes()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+        }
+    }
+
+    @PostMapping("/recompute_recommendations")
+    public ResponseEntity<ApiResponse> recomputeRecommendations(@RequestHeader("X-auth-token") String token,
+                                                                @RequestParam(required = false) String userId) {
+        try {
+            Assert.isTrue(apiToken.equals(token), "Invalid token");
+            checkAdmin();
+
+            if (userId != null) {
+                recommendationFeedService.recompute(userId);
+                return ResponseEntity.ok(ApiResponse.success("Recompute recommendations success"));
+            }
+
+            return ResponseEntity.ok(ApiResponse.success("Invalidate recommendations success", recommendationFeedService.invalidateAll()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/listen_stats")
+    public ResponseEntity<ApiResponse> getListenStats(@RequestHeader("X-auth-token") String token) {
+        try {
+            Assert.isTrue(apiToken.equals(token), "Invalid token");
+            checkAdmin();
+            return ResponseEntity.ok(ApiResponse.success("Get listen stats success", listenEventService.getStats()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/reconcile_stats")
+    public ResponseEntity<ApiResponse> getReconcileStats(@RequestHeader("X-auth-token") String token) {
+        try {
+            Assert.isTrue(apiToken.equals(token), "Invalid token");
+            checkAdmin();
+            return ResponseEntity.ok(ApiResponse.success("Get reconcile stats success", songReconciler.getStats()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+        }
+    }
+
+    private void checkAdmin() {
+        if (!AuthenticationUtils.getCurrentUser().getRole().equals(Role.ADMIN.toString())) {
+            throw new BusinessException(HttpStatus.FORBIDDEN, "You are not allowed to access this resource");
+        }
+    }
+}
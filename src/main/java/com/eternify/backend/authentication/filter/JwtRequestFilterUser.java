@@ -1,10 +1,10 @@
 package com.eternify.backend.authentication.filter;
 
+import com.eternify.backend.authentication.jwt.JwtTokenVerifier;
 import com.eternify.backend.common.api.ApiResponse;
 import com.eternify.backend.common.exception.AuthorizationException;
 import com.eternify.backend.user.model.CustomUserDetails;
-import com.eternify.backend.user.service.UserService;
-import com.eternify.backend.util.JwtUtils;
+import com.eternify.backend.user.cache.PrincipalCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -24,7 +24,8 @@ import java.io.IOException;
 @Component
 @RequiredArgsConstructor
 public class JwtRequestFilterUser extends OncePerRequestFilter {
-    private final UserService userService;
+    private final PrincipalCache principalCache;
+    private final JwtTokenVerifier jwtTokenVerifier;
     private final ObjectMapper mapper;
 
     @Override
@@ -36,7 +37,7 @@ public class JwtRequestFilterUser extends OncePerRequestFilter {
             String username;
 
             try {
-                username = JwtUtils.extractJwtUsername(token);
+                username = jwtTokenVerifier.verifyAccessToken(token).subject();
             } catch (JwtException e) {
                 AuthorizationException exception = new AuthorizationException(e.getMessage());
                 response.setStatus(HttpServletResponse.SC_OK);
@@ -48,7 +49,7 @@ public class JwtRequestFilterUser extends OncePerRequestFilter {
             CustomUserDetails customUserDetails;
 
             try {
-                customUserDetails = (CustomUserDetails) userService.loadUserByUsername(username);
+                customUserDetails = principalCache.get(username);
             } catch (UsernameNotFoundException e) {
                 AuthorizationException exception = new AuthorizationException("User not found");
                 response.setStatus(HttpServletResponse.SC_OK);
@@ -65,11 +66,9 @@ public class JwtRequestFilterUser extends OncePerRequestFilter {
                 return;
             }
 
-            if (JwtUtils.validateJwtToken(token, customUserDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(customUserDetails, null, customUserDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+            UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(customUserDetails, null, customUserDetails.getAuthorities());
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,9 @@
+package com.eternify.backend.authentication.jwt;
+
+import java.util.Date;
+
+public record JwtClaims(String subject, Date issuedAt, Date expiration) {
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,85 @@
+package com.eternify.backend.authentication.jwt;
+
+import com.eternify.backend.authentication.filter.JwtConstant;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies access and refresh tokens. The signing keys and parsers are built once, each token is
+ * parsed and signature-checked exactly once into a {@link JwtClaims}, and recently verified access
+ * tokens are remembered by their SHA-256 so repeat requests skip the HMAC. A remembered token is
+ * still rejected once its own expiration has passed.
+ */
+@Component
+public class JwtTokenVerifier {
+    private final JwtParser accessParser = parser(JwtConstant.JWT_SECRET_USER);
+    private final JwtParser refreshParser = parser(JwtConstant.REFRESH_SECRET_USER);
+
+    @Value("${jwt.verified-cache-size}")
+    private long verifiedCacheSize;
+
+    @Value("${jwt.verified-cache-ttl-ms}")
+    private long verifiedCacheTtlMs;
+
+    private Cache<HashCode, JwtClaims> verified;
+
+    @PostConstruct
+    public void initCache() {
+        verified = CacheBuilder.newBuilder()
+                .expireAfterWrite(verifiedCacheTtlMs, TimeUnit.MILLISECONDS)
+                .maximumSize(verifiedCacheSize)
+                .build();
+    }
+
+    public JwtClaims verifyAccessToken(String token) {
+        HashCode key = Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+        JwtClaims cached = verified.getIfPresent(key);
+
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        JwtClaims claims = parse(accessParser, token);
+        verified.put(key, claims);
+
+        return claims;
+    }
+
+    public JwtClaims verifyRefreshToken(String token) {
+        return parse(refreshParser, token);
+    }
+
+    /**
+     * Signature and expiration are both enforced by the parser, so an expired token surfaces as an
+     * {@link io.jsonwebtoken.ExpiredJwtException}.
+     */
+    static JwtClaims parse(JwtParser parser, String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        if (claims.getSubject() == null) {
+            throw new JwtException("Token has no subject");
+        }
+
+        return new JwtClaims(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration());
+    }
+
+    static JwtParser parser(String secret) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .build();
+    }
+}
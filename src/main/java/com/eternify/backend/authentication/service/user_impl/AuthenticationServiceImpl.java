@@ -3,10 +3,12 @@ package com.eternify.backend.authentication.service.user_impl;
 import com.eternify.backend.authentication.dto.AuthenticationRequest;
 import com.eternify.backend.authentication.dto.AuthenticationResponse;
 import com.eternify.backend.authentication.filter.JwtConstant;
+import com.eternify.backend.authentication.jwt.JwtTokenVerifier;
 import com.eternify.backend.authentication.service.AuthenticationService;
 import com.eternify.backend.common.exception.LockedUserException;
 import com.eternify.backend.common.exception.UserNotFoundException;
 import com.eternify.backend.common.exception.WrongPasswordException;
+import com.eternify.backend.user.cache.PrincipalCache;
 import com.eternify.backend.user.model.CustomUserDetails;
 import com.eternify.backend.user.model.User;
 import com.eternify.backend.user.service.UserService;
@@ -33,6 +35,12 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JwtTokenVerifier jwtTokenVerifier;
+
     private final LockedUserException lockedUserException = new LockedUserException("Too many wrong attempts. Account has already been locked.");
     private final WrongPasswordException wrongPasswordException = new WrongPasswordException("Wrong password");
 
@@ -53,6 +61,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             }
             mongoTemplate.save(user);
             if (!user.isActive()) {
+                principalCache.invalidate(user.getEmail());
                 throw lockedUserException;
             }
             throw wrongPasswordException;
@@ -72,7 +81,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             String username;
 
             try {
-                username = JwtUtils.extractRefreshUsername(token);
+                username = jwtTokenVerifier.verifyRefreshToken(token).subject();
             } catch (JwtException e) {
                 return null;
             }
@@ -80,7 +89,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             CustomUserDetails customUserDetails;
 
             try {
-                customUserDetails = (CustomUserDetails) userService.loadUserByUsername(username);
+                customUserDetails = principalCache.get(username);
             } catch (UsernameNotFoundException e) {
                 return null;
             }
@@ -89,9 +98,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 return null;
             }
 
-            if (JwtUtils.validateRefreshToken(token, customUserDetails)) {
-                return JwtUtils.generateJwtToken(username);
-            }
+            return JwtUtils.generateJwtToken(username);
         }
 
         return null;
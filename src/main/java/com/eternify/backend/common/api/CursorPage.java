@@ -0,0 +1,23 @@
+package com.eternify.backend.common.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items = new ArrayList<>();
+    private String nextCursor;
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(items), nextCursor);
+    }
+}
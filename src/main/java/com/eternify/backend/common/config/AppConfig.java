@@ -24,6 +24,9 @@ public class AppConfig {
     @Value("${app.timezone}")
     private String appTimeZone;
 
+    @Value("${app.scheduler-pool-size}")
+    private int schedulerPoolSize;
+
     private OkHttpClient okHttpClient;
 
     @Bean
@@ -39,7 +42,7 @@ public class AppConfig {
     @Bean
     public ThreadPoolTaskScheduler threadPoolTaskScheduler() {
         ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
-        threadPoolTaskScheduler.setPoolSize(5);
+        threadPoolTaskScheduler.setPoolSize(schedulerPoolSize);
         return threadPoolTaskScheduler;
     }
 
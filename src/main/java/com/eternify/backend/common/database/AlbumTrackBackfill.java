@@ -0,0 +1,88 @@
+package com.eternify.backend.common.database;
+
+import com.eternify.backend.song.model.AlbumTrack;
+import com.eternify.backend.song.model.Song;
+import com.eternify.backend.util.PositionKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Moves the legacy embedded {@code songs} / {@code songAdditionTime} of each album into
+ * {@code album_track} and fills {@code songCount} / {@code totalLength} for albums written before
+ * those were maintained. Tracks are upserted on (albumId, songId), so a run that is interrupted
+ * part-way can simply be repeated; the legacy fields are unset only after the album's tracks are
+ * written.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlbumTrackBackfill {
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            Query query = new Query(new Criteria().orOperator(
+                    Criteria.where("songs").exists(true),
+                    Criteria.where("songCount").exists(false)));
+            query.fields().include("songs").include("songAdditionTime");
+
+            int albums = 0;
+
+            try (var documents = mongoTemplate.stream(query, Document.class, "album")) {
+                for (Document album : (Iterable<Document>) documents::iterator) {
+                    migrate(album);
+                    albums++;
+                }
+            }
+
+            if (albums > 0) {
+                log.info("Migrated track listings of {} albums", albums);
+            }
+        } catch (Exception e) {
+            log.error("Error migrating album tracks: {}", e.getMessage());
+        }
+    }
+
+    private void migrate(Document album) {
+        String albumId = album.get("_id").toString();
+        List<String> songIds = new ArrayList<>(new LinkedHashSet<>(album.getList("songs", String.class, List.of())));
+        Document additionTimes = album.get("songAdditionTime", Document.class);
+
+        if (!songIds.isEmpty()) {
+            List<String> positions = PositionKeys.after(null, songIds.size());
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AlbumTrack.class);
+
+            for (int i = 0; i < songIds.size(); i++) {
+                Date additionTime = additionTimes == null ? null : additionTimes.getDate(songIds.get(i));
+
+                operations.upsert(new Query(Criteria.where("albumId").is(albumId).and("songId").is(songIds.get(i))),
+                        new Update().setOnInsert("position", positions.get(i)).setOnInsert("additionTime", additionTime));
+            }
+
+            operations.execute();
+        }
+
+        Query songQuery = new Query(Criteria.where("_id").in(songIds));
+        songQuery.fields().include("length");
+
+        long totalLength = songIds.isEmpty() ? 0 : mongoTemplate.find(songQuery, Song.class).stream().mapToLong(Song::getLength).sum();
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(album.get("_id"))), new Update()
+                .set("songCount", songIds.size())
+                .set("totalLength", totalLength)
+                .unset("songs")
+                .unset("songAdditionTime"), "album");
+    }
+}
@@ -0,0 +1,204 @@
+package com.eternify.backend.common.database;
+
+import com.eternify.backend.song.track.AlbumTrackStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declares the indexes backing every hot query shape, creates them idempotently at startup and
+ * reports any shape whose winning plan is still a collection scan. Keep {@link #QUERY_SHAPES} in
+ * sync with the filters built in the services.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexManager {
+    private static final Document SHORTEST_FIRST = new Document("searchLength", 1).append("_id", 1);
+
+    static final List<IndexSpec> INDEXES = List.of(
+            new IndexSpec("song", "status_category", new Document("status", 1).append("categoryId", 1).append("_id", 1)),
+            new IndexSpec("song", "status_country", new Document("status", 1).append("countryId", 1).append("_id", 1)),
+            new IndexSpec("song", "status_artist", new Document("status", 1).append("artistId", 1).append("_id", 1)),
+            new IndexSpec("song", "status_tags", new Document("status", 1).append("tags", 1).append("_id", 1)),
+            new IndexSpec("song", "status_search_leading_length", new Document("status", 1).append("searchLeading", 1).append("searchLength", 1).append("_id", 1)),
+            new IndexSpec("song", "status_search_prefixes_length", new Document("status", 1).append("searchPrefixes", 1).append("searchLength", 1).append("_id", 1)),
+            new IndexSpec("song", "status_search_trigrams_length", new Document("status", 1).append("searchTrigrams", 1).append("searchLength", 1).append("_id", 1)),
+            new IndexSpec("album", "status_type_category", new Document("status", 1).append("albumType", 1).append("mainCategory", 1).append("_id", 1)),
+            new IndexSpec("album", "status_type_country", new Document("status", 1).append("albumType", 1).append("mainCountry", 1).append("_id", 1)),
+            new IndexSpec("album", "status_type_tag", new Document("status", 1).append("albumType", 1).append("mainTag", 1).append("_id", 1)),
+            new IndexSpec("album", "status_type_owner", new Document("status", 1).append("albumType", 1).append("ownerId", 1).append("_id", 1)),
+            new IndexSpec("album", "status_type_search_leading_length", new Document("status", 1).append("albumType", 1).append("searchLeading", 1).append("searchLength", 1).append("_id", 1)),
+            new IndexSpec("album", "status_type_search_prefixes_length", new Document("status", 1).append("albumType", 1).append("searchPrefixes", 1).append("searchLength", 1).append("_id", 1)),
+            new IndexSpec("album", "status_type_search_trigrams_length", new Document("status", 1).append("albumType", 1).append("searchTrigrams", 1).append("searchLength", 1).append("_id", 1)),
+            new IndexSpec("album_track", "album_song", new Document("albumId", 1).append("songId", 1), true),
+            new IndexSpec("album_track", AlbumTrackStore.POSITION_INDEX, new Document("albumId", 1).append("position", 1), true),
+            new IndexSpec("album_track", "song", new Document("songId", 1)),
+            new IndexSpec("song_tombstone", "reconciled_deleted", new Document("reconciled", 1).append("deletedAt", 1)),
+            new IndexSpec("z_user", "email", new Document("email", 1)),
+            new IndexSpec("z_user", "role", new Document("role", 1)),
+            new IndexSpec("z_user", "favorite_songs", new Document("userPref.favoriteSongs", 1)),
+            new IndexSpec("user_recommendations", "computed_at", new Document("computedAt", 1)),
+            new IndexSpec("listen_history", "user_song", new Document("userId", 1).append("songId", 1), true),
+            new IndexSpec("listen_history", "user_recent", new Document("userId", 1).append("listenedAt", -1).append("_id", -1)),
+            new IndexSpec("listen_history", "song", new Document("songId", 1)),
+            new IndexSpec("trending_bucket", "hour", new Document("hour", 1)),
+            new IndexSpec("hot_sketch", "epoch", new Document("epoch", 1)),
+            new IndexSpec("tag", "name", new Document("name", 1)),
+            new IndexSpec("category", "name", new Document("name", 1)),
+            new IndexSpec("country", "name", new Document("name", 1))
+    );
+
+    static final List<QueryShape> QUERY_SHAPES = List.of(
+            new QueryShape("song.searchByCategory", "song", new Document("status", "PUBLIC").append("categoryId", "_"), new Document("_id", 1)),
+            new QueryShape("song.searchByCountry", "song", new Document("status", "PUBLIC").append("countryId", "_"), new Document("_id", 1)),
+            new QueryShape("song.searchByArtist", "song", new Document("status", "PUBLIC").append("artistId", "_"), new Document("_id", 1)),
+            new QueryShape("song.searchByTag", "song", new Document("status", "PUBLIC").append("tags", new Document("$in", List.of("_"))), new Document("_id", 1)),
+            new QueryShape("song.searchByName.leading", "song", new Document("status", "PUBLIC").append("searchLeading", "_"), SHORTEST_FIRST),
+            new QueryShape("song.searchByName.prefix", "song", new Document("status", "PUBLIC").append("searchPrefixes", new Document("$all", List.of("_"))), SHORTEST_FIRST),
+            new QueryShape("song.searchByName.infix", "song", new Document("status", "PUBLIC").append("searchTrigrams", new Document("$all", List.of("_"))), SHORTEST_FIRST),
+            new QueryShape("album.searchByCategory", "album", albumFilter("mainCategory"), new Document("_id", 1)),
+            new QueryShape("album.searchByCountry", "album", albumFilter("mainCountry"), new Document("_id", 1)),
+            new QueryShape("album.searchByTag", "album", albumFilter("mainTag"), new Document("_id", 1)),
+            new QueryShape("album.searchByArtist", "album", albumFilter("ownerId"), new Document("_id", 1)),
+            new QueryShape("album.searchByName.leading", "album", albumFilter("searchLeading"), SHORTEST_FIRST),
+            new QueryShape("album.searchByName.prefix", "album", albumFilter("searchPrefixes"), SHORTEST_FIRST),
+            new QueryShape("album.searchByName.infix", "album", albumFilter("searchTrigrams"), SHORTEST_FIRST),
+            new QueryShape("album.tracks", "album_track", new Document("albumId", "_"), new Document("position", 1)),
+            new QueryShape("album.trackMembership", "album_track", new Document("albumId", "_").append("songId", new Document("$in", List.of("_"))), new Document()),
+            new QueryShape("tombstone.pending", "song_tombstone", new Document("reconciled", false), new Document("deletedAt", 1)),
+            new QueryShape("tombstone.albumTracks", "album_track", new Document("songId", "_"), new Document()),
+            new QueryShape("tombstone.favorites", "z_user", new Document("userPref.favoriteSongs", "_"), new Document()),
+            new QueryShape("tombstone.history", "listen_history", new Document("songId", "_"), new Document()),
+            new QueryShape("user.findByEmail", "z_user", new Document("email", "_"), new Document()),
+            new QueryShape("user.findAllByRole", "z_user", new Document("role", "ARTIST"), new Document()),
+            new QueryShape("recommendation.sweepStale", "user_recommendations", new Document("computedAt", new Document("$lt", "_")), new Document("computedAt", 1)),
+            new QueryShape("recommendation.activeUsers", "listen_history", new Document("userId", new Document("$in", List.of("_"))).append("listenedAt", new Document("$gte", "_")), new Document()),
+            new QueryShape("listen.history", "listen_history", new Document("userId", "_"), new Document("listenedAt", -1).append("_id", -1)),
+            new QueryShape("trending.window", "trending_bucket", new Document("hour", new Document("$gt", "_")), new Document()),
+            new QueryShape("hot.sketches", "hot_sketch", new Document("epoch", new Document("$gte", "_")), new Document()),
+            new QueryShape("tag.findByName", "tag", new Document("name", "_"), new Document()),
+            new QueryShape("category.findByName", "category", new Document("name", "_"), new Document()),
+            new QueryShape("country.findByName", "country", new Document("name", "_"), new Document())
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        try {
+            ensureIndexes();
+
+            for (QueryShapeReport report : explainQueryShapes()) {
+                if (report.collectionScan()) {
+                    log.warn("Query shape {} on {} still uses a COLLSCAN", report.name(), report.collection());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error bootstrapping indexes: {}", e.getMessage());
+        }
+    }
+
+    public void ensureIndexes() {
+        for (IndexSpec index : INDEXES) {
+            try {
+                CompoundIndexDefinition definition = new CompoundIndexDefinition(index.keys());
+                definition.named(index.name()).background();
+
+                if (index.unique()) {
+                    definition.unique();
+                }
+
+                mongoTemplate.indexOps(index.collection()).ensureIndex(definition);
+            } catch (Exception e) {
+                log.error("Error creating index {} on {}: {}", index.name(), index.collection(), e.getMessage());
+            }
+        }
+    }
+
+    public List<QueryShapeReport> explainQueryShapes() {
+        List<QueryShapeReport> reports = new ArrayList<>();
+
+        for (QueryShape shape : QUERY_SHAPES) {
+            Document explain = mongoTemplate.getCollection(shape.collection())
+                    .find(shape.filter())
+                    .sort(shape.sort())
+                    .limit(1)
+                    .explain();
+
+            Object winningPlan = ((Document) explain.get("queryPlanner")).get("winningPlan");
+            reports.add(new QueryShapeReport(shape.name(), shape.collection(), containsCollectionScan(winningPlan)));
+        }
+
+        return reports;
+    }
+
+    private static boolean containsCollectionScan(Object plan) {
+        if (plan instanceof Map<?, ?> stage) {
+            if ("COLLSCAN".equals(stage.get("stage"))) {
+                return true;
+            }
+
+            return stage.values().stream().anyMatch(IndexManager::containsCollectionScan);
+        }
+
+        if (plan instanceof List<?> stages) {
+            return stages.stream().anyMatch(IndexManager::containsCollectionScan);
+        }
+
+        return false;
+    }
+
+    /**
+     * An index serves a shape without a collection scan or an in-memory sort when its leading keys
+     * are exactly the filtered fields, followed by the sort keys in order. A sort on a field that is
+     * itself filtered is already served by that key.
+     */
+    static boolean isCoveredBy(QueryShape shape, IndexSpec index) {
+        if (!shape.collection().equals(index.collection())) {
+            return false;
+        }
+
+        List<String> indexKeys = new ArrayList<>(index.keys().keySet());
+        List<String> sortKeys = shape.sort().keySet().stream().filter(key -> !shape.filter().containsKey(key)).toList();
+        int filterCount = shape.filter().size();
+
+        if (indexKeys.size() < filterCount + sortKeys.size()) {
+            return false;
+        }
+
+        if (!new HashSet<>(indexKeys.subList(0, filterCount)).equals(shape.filter().keySet())) {
+            return false;
+        }
+
+        return indexKeys.subList(filterCount, filterCount + sortKeys.size()).equals(sortKeys);
+    }
+
+    private static Document albumFilter(String field) {
+        return new Document("status", "PUBLIC")
+                .append("albumType", new Document("$in", List.of("ARTIST_ALBUM", "PLAYLIST")))
+                .append(field, "_");
+    }
+
+    record IndexSpec(String collection, String name, Document keys, boolean unique) {
+        IndexSpec(String collection, String name, Document keys) {
+            this(collection, name, keys, false);
+        }
+    }
+
+    record QueryShape(String name, String collection, Document filter, Document sort) {
+    }
+
+    public record QueryShapeReport(String name, String collection, boolean collectionScan) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.eternify.backend.common.database;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Named leases in the {@code job_lock} collection for scheduled jobs that must run on one instance
+ * at a time. A lease is taken when it is free or expired and extended by its current owner; an
+ * instance that dies simply lets its lease run out.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobLock {
+    private static final String COLLECTION = "job_lock";
+
+    private final MongoTemplate mongoTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * Takes or extends the lease on {@code name} for {@code leaseMs}; false when another instance
+     * holds an unexpired lease.
+     */
+    public boolean tryAcquire(String name, long leaseMs) {
+        Date now = new Date();
+        Query query = new Query(Criteria.where("_id").is(name)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("lockedUntil").lt(now)));
+        Update update = new Update().set("owner", owner).set("lockedUntil", new Date(now.getTime() + leaseMs));
+
+        try {
+            mongoTemplate.upsert(query, update, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(name).and("owner").is(owner)), COLLECTION);
+    }
+}
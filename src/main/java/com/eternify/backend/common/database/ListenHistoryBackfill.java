@@ -0,0 +1,74 @@
+package com.eternify.backend.common.database;
+
+import com.eternify.backend.song.listen.ListenHistoryStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the legacy embedded {@code userPref.songHistory} arrays into {@code listen_history} and
+ * unsets them. The embedded list has no timestamps, so entries are given synthetic ones a second
+ * apart in list order; because the store only ever moves {@code listenedAt} forward, real listens
+ * recorded in the meantime are not overwritten.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ListenHistoryBackfill {
+    private static final String LEGACY_FIELD = "userPref.songHistory";
+
+    private final MongoTemplate mongoTemplate;
+    private final ListenHistoryStore listenHistoryStore;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            Query query = new Query(Criteria.where(LEGACY_FIELD).exists(true));
+            query.fields().include(LEGACY_FIELD);
+
+            int users = 0;
+
+            try (var documents = mongoTemplate.stream(query, Document.class, "z_user")) {
+                for (Document user : (Iterable<Document>) documents::iterator) {
+                    migrate(user);
+                    users++;
+                }
+            }
+
+            if (users > 0) {
+                log.info("Migrated listening history of {} users", users);
+            }
+        } catch (Exception e) {
+            log.error("Error migrating listening history: {}", e.getMessage());
+        }
+    }
+
+    private void migrate(Document user) {
+        Object userId = user.get("_id");
+        Document userPref = user.get("userPref", Document.class);
+        List<String> history = userPref == null ? List.of() : userPref.getList("songHistory", String.class, List.of());
+
+        List<String> kept = history.subList(Math.max(0, history.size() - ListenHistoryStore.HISTORY_LIMIT), history.size());
+        long now = System.currentTimeMillis();
+        Map<String, Date> listenedAt = new LinkedHashMap<>();
+
+        for (int i = 0; i < kept.size(); i++) {
+            listenedAt.put(kept.get(i), new Date(now - (kept.size() - i) * 1000L));
+        }
+
+        listenHistoryStore.record(userId.toString(), listenedAt);
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(userId)), new Update().unset(LEGACY_FIELD), "z_user");
+    }
+}
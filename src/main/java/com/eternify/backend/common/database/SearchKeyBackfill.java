@@ -0,0 +1,86 @@
+package com.eternify.backend.common.database;
+
+import com.eternify.backend.util.SearchTextUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the {@code searchPrefixes} / {@code searchTrigrams} / {@code searchLeading} /
+ * {@code searchLength} keys for songs and albums written before those fields existed. Only documents missing the keys are touched, so this is a no-op
+ * once every document has been migrated.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchKeyBackfill {
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            backfill("song", "title");
+            backfill("album", "name");
+        } catch (Exception e) {
+            log.error("Error back-filling search keys: {}", e.getMessage());
+        }
+    }
+
+    private void backfill(String collection, String textField) {
+        Query query = new Query(Criteria.where("searchLeading").exists(false));
+        query.fields().include(textField);
+
+        List<Pair<Query, UpdateDefinition>> updates = new ArrayList<>();
+        int total = 0;
+
+        try (var documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                String text = document.getString(textField);
+                Update update = new Update()
+                        .set("searchPrefixes", SearchTextUtils.prefixes(text))
+                        .set("searchTrigrams", SearchTextUtils.trigrams(text))
+                        .set("searchLeading", SearchTextUtils.leadingPrefixes(text))
+                        .set("searchLength", SearchTextUtils.searchLength(text));
+
+                updates.add(Pair.of(new Query(Criteria.where("_id").is(document.get("_id"))), update));
+
+                if (updates.size() >= BATCH_SIZE) {
+                    total += flush(collection, updates);
+                }
+            }
+        }
+
+        total += flush(collection, updates);
+
+        if (total > 0) {
+            log.info("Back-filled search keys for {} {} documents", total, collection);
+        }
+    }
+
+    private int flush(String collection, List<Pair<Query, UpdateDefinition>> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        int count = updates.size();
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection).updateOne(updates).execute();
+        updates.clear();
+
+        return count;
+    }
+}
@@ -0,0 +1,116 @@
+package com.eternify.backend.song.cache;
+
+import com.eternify.backend.song.model.Category;
+import com.eternify.backend.song.model.Country;
+import com.eternify.backend.song.model.Tag;
+import com.eternify.backend.song.repository.CategoryRepository;
+import com.eternify.backend.song.repository.CountryRepository;
+import com.eternify.backend.song.repository.TagRepository;
+import com.google.common.collect.ImmutableMap;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * In-memory snapshot of the category, country and tag collections. These are tiny and rarely
+ * change, so readers get them from an immutable snapshot that is swapped atomically whenever one
+ * of the owning services mutates an entry, and re-polled periodically to pick up changes made by
+ * other nodes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+    private final CategoryRepository categoryRepository;
+    private final CountryRepository countryRepository;
+    private final TagRepository tagRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    @PostConstruct
+    public void refresh() {
+        List<Category> categories = categoryRepository.findAll();
+        List<Country> countries = countryRepository.findAll();
+        List<Tag> tags = tagRepository.findAll();
+
+        snapshot.set(new Snapshot(
+                index(categories, Category::getId),
+                index(categories, Category::getName),
+                index(countries, Country::getId),
+                index(countries, Country::getName),
+                index(tags, Tag::getId),
+                index(tags, Tag::getName)
+        ));
+    }
+
+    @Scheduled(fixedDelayString = "${reference-data.refresh-interval-ms}", initialDelayString = "${reference-data.refresh-interval-ms}")
+    public void poll() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Error refreshing reference data: {}", e.getMessage());
+        }
+    }
+
+    public Category getCategory(String id) {
+        return id == null ? null : snapshot.get().categoriesById().get(id);
+    }
+
+    public Category getCategoryByName(String name) {
+        return name == null ? null : snapshot.get().categoriesByName().get(name);
+    }
+
+    public List<Category> getAllCategories() {
+        return snapshot.get().categoriesById().values().asList();
+    }
+
+    public Country getCountry(String id) {
+        return id == null ? null : snapshot.get().countriesById().get(id);
+    }
+
+    public Country getCountryByName(String name) {
+        return name == null ? null : snapshot.get().countriesByName().get(name);
+    }
+
+    public List<Country> getAllCountries() {
+        return snapshot.get().countriesById().values().asList();
+    }
+
+    public Tag getTag(String id) {
+        return id == null ? null : snapshot.get().tagsById().get(id);
+    }
+
+    public Tag getTagByName(String name) {
+        return name == null ? null : snapshot.get().tagsByName().get(name);
+    }
+
+    public List<Tag> getAllTags() {
+        return snapshot.get().tagsById().values().asList();
+    }
+
+    private static <T> ImmutableMap<String, T> index(List<T> entries, Function<T, String> keyGetter) {
+        ImmutableMap.Builder<String, T> builder = ImmutableMap.builder();
+
+        entries.stream()
+                .filter(entry -> keyGetter.apply(entry) != null)
+                .forEach(entry -> builder.put(keyGetter.apply(entry), entry));
+
+        return builder.buildKeepingLast();
+    }
+
+    private record Snapshot(ImmutableMap<String, Category> categoriesById,
+                            ImmutableMap<String, Category> categoriesByName,
+                            ImmutableMap<String, Country> countriesById,
+                            ImmutableMap<String, Country> countriesByName,
+                            ImmutableMap<String, Tag> tagsById,
+                            ImmutableMap<String, Tag> tagsByName) {
+        private static final Snapshot EMPTY = new Snapshot(ImmutableMap.of(), ImmutableMap.of(), ImmutableMap.of(),
+                ImmutableMap.of(), ImmutableMap.of(), ImmutableMap.of());
+    }
+}
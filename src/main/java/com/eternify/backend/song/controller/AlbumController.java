@@ -77,6 +77,20 @@ public class AlbumController {
         }
     }
 
+    @GetMapping("/tracks")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongAlbumPageDTO.class), mediaType = "application/json") }),
+    })
+    public ResponseEntity<ApiResponse> getTracks(@RequestHeader("X-auth-token") String token,
+                                                 @RequestParam String id, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "0") int limit) {
+        try {
+            Assert.isTrue(apiToken.equals(token), "Invalid token");
+            return ResponseEntity.ok(ApiResponse.success("Get album tracks success", albumService.getTracks(id, cursor, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+        }
+    }
+
     @PostMapping("/clone")
     public ResponseEntity<ApiResponse> cloneAlbum(@RequestHeader("X-auth-token") String token,
                                                @RequestBody String id) {
@@ -199,7 +213,7 @@ public class AlbumController {
 
     @GetMapping("/get_user_favorites")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumSummaryDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> getUserFavorites(@RequestHeader("X-auth-token") String token,
                                                         @RequestParam(defaultValue = "0") int limit,
@@ -214,13 +228,13 @@ public class AlbumController {
 
     @GetMapping("/search_by_name")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumSummaryPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchByName(@RequestHeader("X-auth-token") String token,
-                                                      @RequestParam String prefix, @RequestParam String albumType, @RequestParam(defaultValue = "0") int limit) {
+                                                      @RequestParam String prefix, @RequestParam String albumType, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search by name success", albumService.searchByName(prefix, albumType, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search by name success", albumService.searchByName(prefix, albumType, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -228,13 +242,13 @@ public class AlbumController {
 
     @GetMapping("/search_by_artist")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumSummaryPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchByArtist(@RequestHeader("X-auth-token") String token,
-                                                      @RequestParam String artistId, @RequestParam String albumType, @RequestParam(defaultValue = "0") int limit) {
+                                                      @RequestParam String artistId, @RequestParam String albumType, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search by artist success", albumService.searchByArtist(artistId, albumType, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search by artist success", albumService.searchByArtist(artistId, albumType, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -242,13 +256,13 @@ public class AlbumController {
 
     @GetMapping("/search_by_category")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumSummaryPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchByCategory(@RequestHeader("X-auth-token") String token,
-                                                      @RequestParam String categoryId, @RequestParam String albumType, @RequestParam(defaultValue = "0") int limit) {
+                                                      @RequestParam String categoryId, @RequestParam String albumType, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search by category success", albumService.searchByCategory(categoryId, albumType, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search by category success", albumService.searchByCategory(categoryId, albumType, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -256,13 +270,13 @@ public class AlbumController {
 
     @GetMapping("/search_by_country")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumSummaryPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchByCountry(@RequestHeader("X-auth-token") String token,
-                                                      @RequestParam String countryId, @RequestParam String albumType, @RequestParam(defaultValue = "0") int limit) {
+                                                      @RequestParam String countryId, @RequestParam String albumType, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search by country success", albumService.searchByCountry(countryId, albumType, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search by country success", albumService.searchByCountry(countryId, albumType, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -270,13 +284,13 @@ public class AlbumController {
 
     @GetMapping("/search_by_tag")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumSummaryPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchByTag(@RequestHeader("X-auth-token") String token,
-                                                      @RequestParam List<String> tags, @RequestParam String albumType, @RequestParam(defaultValue = "0") int limit) {
+                                                      @RequestParam List<String> tags, @RequestParam String albumType, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search by tag success", albumService.searchByTag(tags, albumType, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search by tag success", albumService.searchByTag(tags, albumType, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -284,7 +298,7 @@ public class AlbumController {
 
     @GetMapping("/get_recommendations")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumSummaryDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> getAlbumRecommendations(@RequestHeader("X-auth-token") String token, @RequestParam(defaultValue = "0") int limit) {
         try {
@@ -294,4 +308,22 @@ public class AlbumController {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
     }
+
+    @GetMapping("/trending")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = AlbumSummaryDTO.class), mediaType = "application/json") }),
+    })
+    public ResponseEntity<ApiResponse> getTrending(@RequestHeader("X-auth-token") String token,
+                                                   @RequestParam(defaultValue = "DAY") String window,
+                                                   @RequestParam(required = false) String categoryId,
+                                                   @RequestParam(required = false) String countryId,
+                                                   @RequestParam(required = false) String tagId,
+                                                   @RequestParam(defaultValue = "0") int limit) {
+        try {
+            Assert.isTrue(apiToken.equals(token), "Invalid token");
+            return ResponseEntity.ok(ApiResponse.success("Get trending albums success", albumService.getTrending(window, categoryId, countryId, tagId, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+        }
+    }
 }
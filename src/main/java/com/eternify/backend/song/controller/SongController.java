@@ -5,6 +5,7 @@ import com.eternify.backend.song.dto.AlbumDTO;
 import com.eternify.backend.song.dto.SongAddDTO;
 import com.eternify.backend.song.dto.SongDTO;
 import com.eternify.backend.song.dto.SongEditDTO;
+import com.eternify.backend.song.dto.SongPageDTO;
 import com.eternify.backend.song.service.SongService;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -129,14 +130,15 @@ public class SongController {
 
     @GetMapping("/search_by_name")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchSongByName(@RequestHeader("X-auth-token") String token,
                                                         @RequestParam String name,
+                                                        @RequestParam(required = false) String cursor,
                                                         @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search song by name success", songService.searchByName(name, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search song by name success", songService.searchByName(name, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -144,14 +146,15 @@ public class SongController {
 
     @GetMapping("/search_by_artist")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchSongByArtist(@RequestHeader("X-auth-token") String token,
                                                           @RequestParam String artist,
+                                                          @RequestParam(required = false) String cursor,
                                                           @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search song by artist success", songService.searchByArtist(artist, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search song by artist success", songService.searchByArtist(artist, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -159,14 +162,15 @@ public class SongController {
 
     @GetMapping("/search_by_category")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchSongByCategory(@RequestHeader("X-auth-token") String token,
                                                             @RequestParam String category,
+                                                            @RequestParam(required = false) String cursor,
                                                             @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search song by category success", songService.searchByCategory(category, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search song by category success", songService.searchByCategory(category, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -174,14 +178,15 @@ public class SongController {
 
     @GetMapping("/search_by_country")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchSongByCountry(@RequestHeader("X-auth-token") String token,
                                                            @RequestParam String country,
+                                                           @RequestParam(required = false) String cursor,
                                                            @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search song by country success", songService.searchByCountry(country, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search song by country success", songService.searchByCountry(country, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -189,14 +194,15 @@ public class SongController {
 
     @GetMapping("/search_by_tag")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> searchSongByTag(@RequestHeader("X-auth-token") String token,
                                                        @RequestParam List<String> tags,
+                                                       @RequestParam(required = false) String cursor,
                                                        @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Search song by tag success", songService.searchByTag(tags, limit)));
+            return ResponseEntity.ok(ApiResponse.success("Search song by tag success", songService.searchByTag(tags, cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -233,13 +239,14 @@ public class SongController {
 
     @GetMapping("/get_user_history")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongDTO.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongPageDTO.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> getUserHistory(@RequestHeader("X-auth-token") String token,
+                                                      @RequestParam(required = false) String cursor,
                                                       @RequestParam(defaultValue = "0") int limit) {
         try {
             Assert.isTrue(apiToken.equals(token), "Invalid token");
-            return ResponseEntity.ok(ApiResponse.success("Get user history success", songService.getUserHistory(limit)));
+            return ResponseEntity.ok(ApiResponse.success("Get user history success", songService.getUserHistory(cursor, limit)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
@@ -282,4 +289,36 @@ public class SongController {
             return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
         }
     }
+
+    @GetMapping("/trending")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongDTO.class), mediaType = "application/json") }),
+    })
+    public ResponseEntity<ApiResponse> getTrending(@RequestHeader("X-auth-token") String token,
+                                                   @RequestParam(defaultValue = "DAY") String window,
+                                                   @RequestParam(required = false) String categoryId,
+                                                   @RequestParam(required = false) String countryId,
+                                                   @RequestParam(required = false) String tagId,
+                                                   @RequestParam(defaultValue = "0") int limit) {
+        try {
+            Assert.isTrue(apiToken.equals(token), "Invalid token");
+            return ResponseEntity.ok(ApiResponse.success("Get trending songs success", songService.getTrending(window, categoryId, countryId, tagId, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/hot")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SongDTO.class), mediaType = "application/json") }),
+    })
+    public ResponseEntity<ApiResponse> getHot(@RequestHeader("X-auth-token") String token,
+                                              @RequestParam(defaultValue = "0") int limit) {
+        try {
+            Assert.isTrue(apiToken.equals(token), "Invalid token");
+            return ResponseEntity.ok(ApiResponse.success("Get hot songs success", songService.getHot(limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+        }
+    }
 }
@@ -1,6 +1,6 @@
 package com.eternify.backend.song.dto;
 
-import com.eternify.backend.user.model.User;
+import com.eternify.backend.user.dto.ArtistSummary;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.*;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -19,8 +19,11 @@ public class AlbumDTO {
 
     private String name;
     private String description;
-    private User owner;
+    private ArtistSummary owner;
     private List<SongAlbumDTO> songs;
+    private String tracksCursor;
+    private int songCount;
+    private long totalLength;
     private String persistentCoverId;
     private String status;
     private String albumType;
@@ -0,0 +1,51 @@
+package com.eternify.backend.song.dto;
+
+import com.eternify.backend.song.model.Category;
+import com.eternify.backend.song.model.Country;
+import com.eternify.backend.song.model.Tag;
+import com.eternify.backend.user.dto.ArtistSummary;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+/**
+ * List representation of an album. It carries no track listing, so building it never touches the
+ * song collection; load the backing albums with {@link #FIELDS} projected.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Builder
+@NoArgsConstructor
+public class AlbumSummaryDTO {
+    public static final String[] FIELDS = {
+            "name", "ownerId", "persistentCoverId", "status", "albumType", "songCount", "totalLength",
+            "mainCategory", "mainCountry", "mainTag", "createdDate", "modifiedDate"
+    };
+
+    private String id;
+
+    private String name;
+    private ArtistSummary owner;
+    private String persistentCoverId;
+    private String status;
+    private String albumType;
+
+    private int songCount;
+    private long totalLength;
+
+    private Category mainCategory;
+    private Country mainCountry;
+    private Tag mainTag;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy HH:mm:ss")
+    private Date createdDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy HH:mm:ss")
+    private Date modifiedDate;
+}
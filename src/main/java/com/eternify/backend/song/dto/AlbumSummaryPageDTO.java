@@ -0,0 +1,9 @@
+package com.eternify.backend.song.dto;
+
+import com.eternify.backend.common.api.CursorPage;
+
+/**
+ * OpenAPI schema of a cursor page of album summarys; generic types cannot be named in {@code @Schema}.
+ */
+public class AlbumSummaryPageDTO extends CursorPage<AlbumSummaryDTO> {
+}
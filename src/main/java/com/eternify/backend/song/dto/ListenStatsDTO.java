@@ -0,0 +1,17 @@
+package com.eternify.backend.song.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ListenStatsDTO {
+    private long accepted;
+    private long persisted;
+    private long callerRuns;
+    private long aggregated;
+    private int queued;
+    private double persistedPerSecond;
+}
@@ -0,0 +1,18 @@
+package com.eternify.backend.song.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconcileStatsDTO {
+    private long pending;
+    private long reconciled;
+    private long albumTracksRemoved;
+    private long favoritesRemoved;
+    private long historyRemoved;
+    private long albumsRecounted;
+    private double documentsPerSecond;
+}
@@ -3,7 +3,7 @@ package com.eternify.backend.song.dto;
 import com.eternify.backend.song.model.Category;
 import com.eternify.backend.song.model.Country;
 import com.eternify.backend.song.model.Tag;
-import com.eternify.backend.user.model.User;
+import com.eternify.backend.user.dto.ArtistSummary;
 import lombok.*;
 
 import java.util.Date;
@@ -18,7 +18,7 @@ public class SongAlbumDTO {
     private String id;
 
     private String title;
-    private User artist;
+    private ArtistSummary artist;
     private String persistentSongId;
     private int length;
 
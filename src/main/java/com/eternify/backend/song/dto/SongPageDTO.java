@@ -0,0 +1,9 @@
+package com.eternify.backend.song.dto;
+
+import com.eternify.backend.common.api.CursorPage;
+
+/**
+ * OpenAPI schema of a cursor page of songs; generic types cannot be named in {@code @Schema}.
+ */
+public class SongPageDTO extends CursorPage<SongDTO> {
+}
@@ -0,0 +1,173 @@
+package com.eternify.backend.song.facet;
+
+import com.eternify.backend.song.model.Album;
+import com.eternify.backend.song.model.Song;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Category, country and tag statistics of one album. Adding or removing a song costs O(1 + tags)
+ * regardless of how many distinct facets the album has, and the result can be written back either
+ * onto the album or as a targeted update touching only the facets that changed.
+ */
+public class AlbumFacets {
+    private final FacetCounter categories;
+    private final FacetCounter countries;
+    private final FacetCounter tags;
+
+    private AlbumFacets(Album album) {
+        categories = new FacetCounter(album.getCategoryFrequency(), album.getMainCategory());
+        countries = new FacetCounter(album.getCountryFrequency(), album.getMainCountry());
+        tags = new FacetCounter(album.getTagFrequency(), album.getMainTag());
+    }
+
+    public static AlbumFacets of(Album album) {
+        return new AlbumFacets(album);
+    }
+
+    /**
+     * Applies {@code songs} being added ({@code sign} 1) or removed (-1) to the in-memory album and
+     * returns the same change as a single targeted update.
+     */
+    public static Update trackStatsUpdate(Album album, Collection<Song> songs, int sign) {
+        AlbumFacets facets = AlbumFacets.of(album);
+        long length = 0;
+
+        for (Song song : songs) {
+            if (sign > 0) {
+                facets.add(song);
+            } else {
+                facets.remove(song);
+            }
+
+            length += song.getLength();
+        }
+
+        facets.applyTo(album);
+        album.setSongCount(album.getSongCount() + sign * songs.size());
+        album.setTotalLength(album.getTotalLength() + sign * length);
+
+        return facets.toUpdate()
+                .inc("songCount", sign * songs.size())
+                .inc("totalLength", sign * length);
+    }
+
+    /**
+     * {@code $inc} of the counters and facet frequencies for {@code songs} being added ({@code sign} 1)
+     * or removed (-1). It needs nothing read first, so it applies on top of whatever the album holds
+     * and cannot lose a race; the main facets are left to {@link #mainFacetsUpdate}.
+     */
+    public static Update trackIncrements(Collection<Song> songs, int sign) {
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        long length = 0;
+
+        for (Song song : songs) {
+            if (song.getCategoryId() != null) {
+                deltas.merge("categoryFrequency." + song.getCategoryId(), sign, Integer::sum);
+            }
+
+            if (song.getCountryId() != null) {
+                deltas.merge("countryFrequency." + song.getCountryId(), sign, Integer::sum);
+            }
+
+            for (String tagId : song.getTags()) {
+                deltas.merge("tagFrequency." + tagId, sign, Integer::sum);
+            }
+
+            length += song.getLength();
+        }
+
+        Update update = new Update();
+        deltas.forEach(update::inc);
+
+        return update
+                .inc("songCount", sign * songs.size())
+                .inc("totalLength", sign * length);
+    }
+
+    /**
+     * {@code $set} of the main facets derived from the album's current frequency maps, and
+     * {@code $unset} of the facets whose count has dropped to zero.
+     */
+    public static Update mainFacetsUpdate(Album album) {
+        AlbumFacets facets = AlbumFacets.of(album);
+        Update update = new Update();
+
+        unsetEmpty(update, "categoryFrequency", album.getCategoryFrequency());
+        unsetEmpty(update, "countryFrequency", album.getCountryFrequency());
+        unsetEmpty(update, "tagFrequency", album.getTagFrequency());
+
+        return update
+                .set("mainCategory", facets.categories.main())
+                .set("mainCountry", facets.countries.main())
+                .set("mainTag", facets.tags.main());
+    }
+
+    public void add(Song song) {
+        categories.increment(song.getCategoryId());
+        countries.increment(song.getCountryId());
+        song.getTags().forEach(tags::increment);
+    }
+
+    public void remove(Song song) {
+        categories.decrement(song.getCategoryId());
+        countries.decrement(song.getCountryId());
+        song.getTags().forEach(tags::decrement);
+    }
+
+    public void applyTo(Album album) {
+        album.setCategoryFrequency(new HashMap<>(categories.counts()));
+        album.setCountryFrequency(new HashMap<>(countries.counts()));
+        album.setTagFrequency(new HashMap<>(tags.counts()));
+        album.setMainCategory(categories.main());
+        album.setMainCountry(countries.main());
+        album.setMainTag(tags.main());
+    }
+
+    /**
+     * {@code $inc} for every facet whose count changed, {@code $unset} for those that dropped to
+     * zero, and {@code $set} of the three main facets.
+     */
+    public Update toUpdate() {
+        Update update = new Update();
+
+        writeChanges(update, "categoryFrequency", categories);
+        writeChanges(update, "countryFrequency", countries);
+        writeChanges(update, "tagFrequency", tags);
+
+        return update
+                .set("mainCategory", categories.main())
+                .set("mainCountry", countries.main())
+                .set("mainTag", tags.main());
+    }
+
+    private static void unsetEmpty(Update update, String field, Map<String, Integer> frequency) {
+        if (frequency == null) {
+            return;
+        }
+
+        frequency.forEach((key, count) -> {
+            if (count == null || count <= 0) {
+                update.unset(field + "." + key);
+            }
+        });
+    }
+
+    private static void writeChanges(Update update, String field, FacetCounter counter) {
+        for (Map.Entry<String, Integer> change : counter.changes().entrySet()) {
+            if (change.getValue() == 0) {
+                continue;
+            }
+
+            if (counter.count(change.getKey()) > 0) {
+                update.inc(field + "." + change.getKey(), change.getValue());
+            } else {
+                update.unset(field + "." + change.getKey());
+            }
+        }
+    }
+}
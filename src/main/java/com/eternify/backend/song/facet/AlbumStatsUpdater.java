@@ -0,0 +1,112 @@
+package com.eternify.backend.song.facet;
+
+import com.eternify.backend.song.model.Album;
+import com.eternify.backend.song.model.AlbumTrack;
+import com.eternify.backend.song.model.Song;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keeps an album's track counters and facets in step with its {@code album_track} rows. A track
+ * change is applied as an unconditional {@code $inc} that bumps the version, so once the tracks are
+ * written the counters always follow. The main facets are then re-derived from the stored
+ * frequencies with an update conditioned on that version; if another change keeps winning, the
+ * refresh is left to that change, which runs one of its own.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlbumStatsUpdater {
+    private static final int MAX_REFRESH_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+
+    public void applyTracks(String albumId, Collection<Song> songs, int sign) {
+        if (songs.isEmpty()) {
+            return;
+        }
+
+        Update update = AlbumFacets.trackIncrements(songs, sign).inc("version", 1).set("modifiedDate", new Date());
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(albumId)), update, Album.class);
+        refreshMainFacets(albumId);
+    }
+
+    public void refreshMainFacets(String albumId) {
+        for (int attempt = 1; attempt <= MAX_REFRESH_ATTEMPTS; attempt++) {
+            Query read = new Query(Criteria.where("_id").is(albumId));
+            read.fields().include("categoryFrequency", "countryFrequency", "tagFrequency", "mainCategory", "mainCountry", "mainTag", "version");
+
+            Album album = mongoTemplate.findOne(read, Album.class);
+
+            if (album == null) {
+                return;
+            }
+
+            Query query = new Query(Criteria.where("_id").is(albumId).and("version").is(album.getVersion()));
+
+            if (mongoTemplate.updateFirst(query, AlbumFacets.mainFacetsUpdate(album), Album.class).getMatchedCount() > 0) {
+                return;
+            }
+        }
+
+        log.debug("Main facets of album {} left to the next concurrent change", albumId);
+    }
+
+    /**
+     * Recomputes every counter and facet of the album from its tracks, for when the changes applied
+     * to it are no longer known exactly. Reads every track, so it is a repair path rather than
+     * something to run per request.
+     */
+    public void recount(String albumId) {
+        for (int attempt = 1; attempt <= MAX_REFRESH_ATTEMPTS; attempt++) {
+            Query read = new Query(Criteria.where("_id").is(albumId));
+            read.fields().include("version");
+
+            Album current = mongoTemplate.findOne(read, Album.class);
+
+            if (current == null) {
+                return;
+            }
+
+            Query trackQuery = new Query(Criteria.where("albumId").is(albumId));
+            trackQuery.fields().include("songId");
+            List<AlbumTrack> tracks = mongoTemplate.find(trackQuery, AlbumTrack.class);
+
+            Query songQuery = new Query(Criteria.where("_id").in(tracks.stream().map(AlbumTrack::getSongId).toList()));
+            songQuery.fields().include("categoryId", "countryId", "tags", "length");
+            List<Song> songs = mongoTemplate.find(songQuery, Song.class);
+
+            Album recounted = Album.builder().build();
+            AlbumFacets.trackStatsUpdate(recounted, songs, 1);
+
+            Update update = new Update()
+                    .set("categoryFrequency", recounted.getCategoryFrequency())
+                    .set("countryFrequency", recounted.getCountryFrequency())
+                    .set("tagFrequency", recounted.getTagFrequency())
+                    .set("mainCategory", recounted.getMainCategory())
+                    .set("mainCountry", recounted.getMainCountry())
+                    .set("mainTag", recounted.getMainTag())
+                    .set("songCount", tracks.size())
+                    .set("totalLength", recounted.getTotalLength())
+                    .inc("version", 1)
+                    .set("modifiedDate", new Date());
+
+            Query query = new Query(Criteria.where("_id").is(albumId).and("version").is(current.getVersion()));
+
+            if (mongoTemplate.updateFirst(query, update, Album.class).getMatchedCount() > 0) {
+                return;
+            }
+        }
+
+        log.warn("Could not recount album {}: it kept changing", albumId);
+    }
+}
@@ -0,0 +1,108 @@
+package com.eternify.backend.song.facet;
+
+import java.util.*;
+
+/**
+ * Counts per key with the most frequent key maintained incrementally. Keys are kept in buckets by
+ * count, so moving a key up or down by one and answering the argmax are both O(1); no update ever
+ * rescans the keys. The current main key is kept on ties, so it only changes when another key
+ * strictly overtakes it or it drops out of the top bucket.
+ */
+public class FacetCounter {
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final Map<Integer, LinkedHashSet<String>> buckets = new HashMap<>();
+    private final Map<String, Integer> changes = new HashMap<>();
+    private int max;
+    private String main = "";
+
+    public FacetCounter(Map<String, Integer> initial, String main) {
+        initial.forEach((key, count) -> {
+            if (key != null && count != null && count > 0) {
+                counts.put(key, count);
+                buckets.computeIfAbsent(count, c -> new LinkedHashSet<>()).add(key);
+                max = Math.max(max, count);
+            }
+        });
+
+        this.main = main != null && count(main) == max && max > 0 ? main : firstOfTopBucket();
+    }
+
+    public void increment(String key) {
+        if (key == null) {
+            return;
+        }
+
+        int count = count(key);
+        move(key, count, count + 1);
+        max = Math.max(max, count + 1);
+
+        if (count + 1 > count(main)) {
+            main = key;
+        }
+    }
+
+    public void decrement(String key) {
+        int count = count(key);
+
+        if (count == 0) {
+            return;
+        }
+
+        move(key, count, count - 1);
+
+        if (count == max && !buckets.containsKey(count)) {
+            max = count - 1;
+        }
+
+        if (key.equals(main) && count - 1 < max) {
+            main = firstOfTopBucket();
+        } else if (max == 0) {
+            main = "";
+        }
+    }
+
+    public int count(String key) {
+        return key == null ? 0 : counts.getOrDefault(key, 0);
+    }
+
+    public String main() {
+        return main;
+    }
+
+    public Map<String, Integer> counts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Net change per key since construction, for writing the counts back as {@code $inc}s.
+     */
+    public Map<String, Integer> changes() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    private void move(String key, int from, int to) {
+        if (from > 0) {
+            Set<String> bucket = buckets.get(from);
+            bucket.remove(key);
+
+            if (bucket.isEmpty()) {
+                buckets.remove(from);
+            }
+        }
+
+        if (to > 0) {
+            counts.put(key, to);
+            buckets.computeIfAbsent(to, c -> new LinkedHashSet<>()).add(key);
+        } else {
+            counts.remove(key);
+        }
+
+        changes.merge(key, to - from, Integer::sum);
+    }
+
+    private String firstOfTopBucket() {
+        Set<String> top = buckets.get(max);
+
+        return top == null || top.isEmpty() ? "" : top.iterator().next();
+    }
+}
@@ -0,0 +1,125 @@
+package com.eternify.backend.song.listen;
+
+import com.eternify.backend.common.database.JobLock;
+import com.eternify.backend.song.model.ListenEvent;
+import com.eternify.backend.song.model.Song;
+import com.eternify.backend.song.service.RecommendationFeedService;
+import com.eternify.backend.user.model.User;
+import com.eternify.backend.util.PreferenceUpdateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Folds persisted {@link ListenEvent}s into user preference frequencies, song play counts and the
+ * {@link ListenHistoryStore}. Each pass takes the oldest events, resolves their songs
+ * with one {@code $in} query, applies the combined increments as bulk writes and then deletes the
+ * events. A crash between the bulk writes and the delete replays that batch, so counts are
+ * at-least-once. Only the instance holding the {@link JobLock} lease aggregates, and it renews the
+ * lease before every batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ListenAggregator {
+    private final MongoTemplate mongoTemplate;
+    private final RecommendationFeedService recommendationFeedService;
+    private final ListenHistoryStore listenHistoryStore;
+    private final JobLock jobLock;
+
+    @Value("${listen.aggregate-batch-size}")
+    private int batchSize;
+
+    @Value("${listen.aggregate-lease-ms}")
+    private long leaseMs;
+
+    private static final String LOCK_NAME = "listen-aggregator";
+
+    private final AtomicLong aggregated = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${listen.aggregate-interval-ms}")
+    public void aggregate() {
+        if (!jobLock.tryAcquire(LOCK_NAME, leaseMs)) {
+            return;
+        }
+
+        try {
+            while (aggregateBatch() >= batchSize && jobLock.tryAcquire(LOCK_NAME, leaseMs)) {
+                // Keep going while there is a backlog and the lease is still ours.
+            }
+        } catch (Exception e) {
+            log.error("Error aggregating listen events: {}", e.getMessage());
+        } finally {
+            jobLock.release(LOCK_NAME);
+        }
+    }
+
+    public long getAggregated() {
+        return aggregated.get();
+    }
+
+    private int aggregateBatch() {
+        Query query = new Query();
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+
+        List<ListenEvent> events = mongoTemplate.find(query, ListenEvent.class);
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Query songQuery = new Query(Criteria.where("_id").in(events.stream().map(ListenEvent::getSongId).distinct().toList()));
+        songQuery.fields().include("tags").include("categoryId").include("countryId");
+        Map<String, Song> songs = mongoTemplate.find(songQuery, Song.class).stream()
+                .collect(Collectors.toMap(Song::getId, Function.identity()));
+
+        Map<String, List<Song>> listensByUser = new LinkedHashMap<>();
+        Map<String, Map<String, Date>> historyByUser = new HashMap<>();
+        Map<String, Integer> playsBySong = new HashMap<>();
+
+        for (ListenEvent event : events) {
+            Song song = songs.get(event.getSongId());
+
+            if (song != null) {
+                listensByUser.computeIfAbsent(event.getUserId(), userId -> new ArrayList<>()).add(song);
+                historyByUser.computeIfAbsent(event.getUserId(), userId -> new HashMap<>())
+                        .merge(song.getId(), event.getListenedAt(), (a, b) -> a.after(b) ? a : b);
+                playsBySong.merge(song.getId(), 1, Integer::sum);
+            }
+        }
+
+        if (!listensByUser.isEmpty()) {
+            BulkOperations userOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+            listensByUser.forEach((userId, listened) ->
+                    userOps.updateOne(new Query(Criteria.where("_id").is(userId)), PreferenceUpdateUtils.frequencyIncrements(listened, 1)));
+            userOps.execute();
+
+            BulkOperations songOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Song.class);
+            playsBySong.forEach((songId, plays) ->
+                    songOps.updateOne(new Query(Criteria.where("_id").is(songId)), new Update().inc("playCount", plays)));
+            songOps.execute();
+
+            historyByUser.forEach(listenHistoryStore::record);
+        }
+
+        mongoTemplate.remove(new Query(Criteria.where("_id").in(events.stream().map(ListenEvent::getId).toList())), ListenEvent.class);
+
+        listensByUser.keySet().forEach(recommendationFeedService::markDirty);
+        aggregated.addAndGet(events.size());
+
+        return events.size();
+    }
+}
@@ -0,0 +1,114 @@
+package com.eternify.backend.song.listen;
+
+import com.eternify.backend.common.api.CursorPage;
+import com.eternify.backend.common.exception.BusinessException;
+import com.eternify.backend.song.model.ListenHistory;
+import com.eternify.backend.util.CursorUtils;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user listening history in the {@code listen_history} collection, capped at
+ * {@link #HISTORY_LIMIT} entries and read most-recent-first with a keyset cursor on
+ * ({@code listenedAt}, {@code _id}).
+ */
+@Component
+@RequiredArgsConstructor
+public class ListenHistoryStore {
+    public static final int HISTORY_LIMIT = 500;
+
+    private static final Sort RECENT_FIRST = Sort.by(Sort.Direction.DESC, "listenedAt").and(Sort.by(Sort.Direction.DESC, "_id"));
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Upserts one entry per song with {@code $max} on {@code listenedAt}, so replays move the entry
+     * forward and late or replayed writes never move it back, then trims the user's history.
+     */
+    public void record(String userId, Map<String, Date> listenedAtBySong) {
+        if (listenedAtBySong.isEmpty()) {
+            return;
+        }
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ListenHistory.class);
+
+        listenedAtBySong.forEach((songId, listenedAt) -> operations.upsert(
+                new Query(Criteria.where("userId").is(userId).and("songId").is(songId)),
+                new Update().max("listenedAt", listenedAt)));
+
+        operations.execute();
+        trim(userId);
+    }
+
+    public CursorPage<String> page(String userId, String cursor, int limit) {
+        int pageSize = CursorUtils.pageSize(limit);
+        Query query = new Query(Criteria.where("userId").is(userId));
+
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = CursorUtils.decode(cursor).split(":", 2);
+
+            if (parts.length != 2 || !ObjectId.isValid(parts[1])) {
+                throw new BusinessException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+
+            Date listenedAt;
+
+            try {
+                listenedAt = new Date(Long.parseLong(parts[0]));
+            } catch (NumberFormatException e) {
+                throw new BusinessException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("listenedAt").lt(listenedAt),
+                    Criteria.where("listenedAt").is(listenedAt).and("_id").lt(new ObjectId(parts[1]))));
+        }
+
+        query.with(RECENT_FIRST).limit(pageSize + 1);
+        query.fields().include("songId").include("listenedAt");
+
+        List<ListenHistory> entries = new ArrayList<>(mongoTemplate.find(query, ListenHistory.class));
+        String nextCursor = null;
+
+        if (entries.size() > pageSize) {
+            entries = new ArrayList<>(entries.subList(0, pageSize));
+            ListenHistory last = entries.get(pageSize - 1);
+            nextCursor = CursorUtils.encode(last.getListenedAt().getTime() + ":" + last.getId());
+        }
+
+        return new CursorPage<>(entries.stream().map(ListenHistory::getSongId).toList(), nextCursor);
+    }
+
+    /**
+     * Removes everything from the first entry past {@link #HISTORY_LIMIT} on, bounded on
+     * ({@code listenedAt}, {@code _id}) like {@link #page} so entries sharing a timestamp with it
+     * are only removed when they sort after it.
+     */
+    private void trim(String userId) {
+        Query boundary = new Query(Criteria.where("userId").is(userId));
+        boundary.with(RECENT_FIRST).skip(HISTORY_LIMIT).limit(1);
+        boundary.fields().include("listenedAt");
+
+        ListenHistory firstDropped = mongoTemplate.findOne(boundary, ListenHistory.class);
+
+        if (firstDropped != null) {
+            mongoTemplate.remove(new Query(Criteria.where("userId").is(userId).orOperator(
+                            Criteria.where("listenedAt").lt(firstDropped.getListenedAt()),
+                            Criteria.where("listenedAt").is(firstDropped.getListenedAt()).and("_id").lte(new ObjectId(firstDropped.getId())))),
+                    ListenHistory.class);
+        }
+    }
+}
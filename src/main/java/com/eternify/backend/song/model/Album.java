@@ -5,6 +5,7 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -20,17 +21,26 @@ public class Album {
     @Id
     private String id;
 
+    @Version
+    private Long version;
+
     private String name;
     private String description;
     private String ownerId;
-    @Builder.Default
-    private List<String> songs = new ArrayList<>();
-    @Builder.Default
-    private Map<String, Date> songAdditionTime = new HashMap<>();
+    private int songCount;
+    private long totalLength;
     private String persistentCoverId;
     private String albumType;
     private String status;
 
+    @Builder.Default
+    private List<String> searchPrefixes = new ArrayList<>();
+    @Builder.Default
+    private List<String> searchTrigrams = new ArrayList<>();
+    @Builder.Default
+    private List<String> searchLeading = new ArrayList<>();
+    private int searchLength;
+
     @Builder.Default
     private Map<String, Integer> categoryFrequency = new HashMap<>();
     @Builder.Default
@@ -0,0 +1,27 @@
+package com.eternify.backend.song.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * One song in one album. (albumId, songId) is unique, and tracks are ordered by {@code position},
+ * a fractional-index key from {@link com.eternify.backend.util.PositionKeys}.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("album_track")
+public class AlbumTrack {
+    @Id
+    private String id;
+
+    private String albumId;
+    private String songId;
+    private String position;
+    private Date additionTime;
+}
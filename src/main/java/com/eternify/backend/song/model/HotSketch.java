@@ -0,0 +1,32 @@
+package com.eternify.backend.song.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One node's listen sketch for one epoch, with the candidate ids it is tracking. The id is
+ * {@code nodeId:epoch} and each publish overwrites it with the node's current state.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("hot_sketch")
+public class HotSketch {
+    @Id
+    private String id;
+
+    private String nodeId;
+    private long epoch;
+    private int width;
+    private int depth;
+    @Builder.Default
+    private List<Long> counts = new ArrayList<>();
+    @Builder.Default
+    private List<String> candidates = new ArrayList<>();
+}
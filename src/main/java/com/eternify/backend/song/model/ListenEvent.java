@@ -0,0 +1,26 @@
+package com.eternify.backend.song.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * One play of a song by a user. Events are inserted once and deleted as soon as their effect has
+ * been folded into the user's preferences and the song's play count.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("listen_event")
+public class ListenEvent {
+    @Id
+    private String id;
+
+    private String userId;
+    private String songId;
+    private Date listenedAt;
+}
@@ -0,0 +1,26 @@
+package com.eternify.backend.song.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Latest listen of one song by one user; (userId, songId) is unique, so a replay only moves the
+ * entry's {@code listenedAt} forward.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("listen_history")
+public class ListenHistory {
+    @Id
+    private String id;
+
+    private String userId;
+    private String songId;
+    private Date listenedAt;
+}
@@ -28,11 +28,20 @@ public class Song {
     private String categoryId;
     private String countryId;
     private int length;
+    private long playCount;
     @Builder.Default
     private List<String> tags = new ArrayList<>();
     private String persistentCoverId;
     private String status;
 
+    @Builder.Default
+    private List<String> searchPrefixes = new ArrayList<>();
+    @Builder.Default
+    private List<String> searchTrigrams = new ArrayList<>();
+    @Builder.Default
+    private List<String> searchLeading = new ArrayList<>();
+    private int searchLength;
+
     @CreatedDate
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy HH:mm:ss")
@@ -0,0 +1,59 @@
+package com.eternify.backend.song.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Marker left behind by a deleted song, keyed by the song's id. It keeps the song's facets and length
+ * so album statistics can still be decremented after the song document is gone, and lists the albums
+ * whose track has been taken out but whose statistics may not have followed yet.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("song_tombstone")
+public class SongTombstone {
+    @Id
+    private String id;
+
+    private String categoryId;
+    private String countryId;
+    private int length;
+    @Builder.Default
+    private List<String> tags = new ArrayList<>();
+
+    @Builder.Default
+    private List<String> pendingAlbums = new ArrayList<>();
+
+    private Date deletedAt;
+    private boolean reconciled;
+    private Date reconciledAt;
+
+    public static SongTombstone of(Song song) {
+        return SongTombstone.builder()
+                .id(song.getId())
+                .categoryId(song.getCategoryId())
+                .countryId(song.getCountryId())
+                .length(song.getLength())
+                .tags(new ArrayList<>(song.getTags()))
+                .deletedAt(new Date())
+                .build();
+    }
+
+    public Song toSong() {
+        return Song.builder()
+                .id(id)
+                .categoryId(categoryId)
+                .countryId(countryId)
+                .length(length)
+                .tags(tags)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.eternify.backend.song.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Persisted count of one song or album for one hour, so trending charts survive a restart. The id
+ * is {@code kind:hour:targetId}; every instance upserts it and {@code $inc}s the count by what it
+ * recorded since its last successful flush.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("trending_bucket")
+public class TrendingBucket {
+    @Id
+    private String id;
+
+    private String kind;
+    private String targetId;
+    private long hour;
+    private long count;
+}
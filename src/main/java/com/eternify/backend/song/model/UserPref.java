@@ -19,7 +19,6 @@ public class UserPref {
     private Map<String, Integer> categoryFrequency = new HashMap<>();
     private Map<String, Integer> countryFrequency = new HashMap<>();
 
-    private List<String> songHistory = new ArrayList<>();
     private List<String> favoriteSongs = new ArrayList<>();
     private List<String> favoriteAlbums = new ArrayList<>();
 }
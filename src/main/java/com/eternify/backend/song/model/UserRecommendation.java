@@ -0,0 +1,28 @@
+package com.eternify.backend.song.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Materialised recommendation feed of one user, keyed by the user id.
+ */
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("user_recommendations")
+public class UserRecommendation {
+    @Id
+    private String userId;
+
+    @Builder.Default
+    private List<String> songIds = new ArrayList<>();
+
+    private Date computedAt;
+}
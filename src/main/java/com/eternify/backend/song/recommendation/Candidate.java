@@ -0,0 +1,10 @@
+package com.eternify.backend.song.recommendation;
+
+import java.util.List;
+
+/**
+ * The fields of a song or album projection that scoring looks at. Albums contribute their main
+ * tag, category and country.
+ */
+public record Candidate(String id, List<String> tagIds, String categoryId, String countryId) {
+}
@@ -0,0 +1,52 @@
+package com.eternify.backend.song.recommendation;
+
+import com.eternify.backend.song.model.Album;
+import com.eternify.backend.song.model.UserPref;
+
+import java.util.Map;
+
+/**
+ * Scores a candidate by how often its tags, category and country appear in a frequency profile,
+ * either a user's listening preferences or the make-up of an album.
+ */
+public class PreferenceScoring implements ScoringFunction {
+    public static final double TAG_WEIGHT = 1.0;
+    public static final double CATEGORY_WEIGHT = 2.0;
+    public static final double COUNTRY_WEIGHT = 1.0;
+
+    private final Map<String, Integer> tagFrequency;
+    private final Map<String, Integer> categoryFrequency;
+    private final Map<String, Integer> countryFrequency;
+
+    public PreferenceScoring(Map<String, Integer> tagFrequency, Map<String, Integer> categoryFrequency, Map<String, Integer> countryFrequency) {
+        this.tagFrequency = tagFrequency;
+        this.categoryFrequency = categoryFrequency;
+        this.countryFrequency = countryFrequency;
+    }
+
+    public static PreferenceScoring of(UserPref userPref) {
+        return new PreferenceScoring(userPref.getTagFrequency(), userPref.getCategoryFrequency(), userPref.getCountryFrequency());
+    }
+
+    public static PreferenceScoring of(Album album) {
+        return new PreferenceScoring(album.getTagFrequency(), album.getCategoryFrequency(), album.getCountryFrequency());
+    }
+
+    @Override
+    public double score(Candidate candidate) {
+        double score = 0;
+
+        for (String tagId : candidate.tagIds()) {
+            score += TAG_WEIGHT * frequency(tagFrequency, tagId);
+        }
+
+        score += CATEGORY_WEIGHT * frequency(categoryFrequency, candidate.categoryId());
+        score += COUNTRY_WEIGHT * frequency(countryFrequency, candidate.countryId());
+
+        return score;
+    }
+
+    private static int frequency(Map<String, Integer> frequency, String id) {
+        return id == null || frequency == null ? 0 : frequency.getOrDefault(id, 0);
+    }
+}
@@ -0,0 +1,207 @@
+package com.eternify.backend.song.recommendation;
+
+import com.eternify.backend.song.cache.ReferenceDataCache;
+import com.eternify.backend.song.model.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Ranks recommendation candidates. Candidate pools are gathered from the user's (or album's) top
+ * tags, categories and countries as field projections, topped up with "Pop" when the pool is
+ * small, and then scored with a {@link ScoringFunction}; only the ids of the best k are returned,
+ * so callers hydrate exactly what they serve. The per-facet queries run concurrently on a bounded
+ * pool under a per-request deadline.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendationEngine {
+    private static final int CANDIDATE_LIMIT = 200;
+    private static final int MIN_SONG_CANDIDATES = 30;
+    private static final int MIN_ALBUM_CANDIDATES = 10;
+
+    private final MongoTemplate mongoTemplate;
+    private final ReferenceDataCache referenceDataCache;
+
+    @Value("${recommendation.fanout-threads}")
+    private int fanoutThreads;
+
+    @Value("${recommendation.fanout-deadline-ms}")
+    private long fanoutDeadlineMs;
+
+    private ExecutorService candidatePool;
+
+    @PostConstruct
+    public void initCandidatePool() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(fanoutThreads, fanoutThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fanoutThreads * 32), new ThreadPoolExecutor.CallerRunsPolicy());
+        candidatePool = new DelegatingSecurityContextExecutorService(executor);
+    }
+
+    @PreDestroy
+    public void shutdownCandidatePool() {
+        candidatePool.shutdown();
+        try {
+            if (!candidatePool.awaitTermination(10, TimeUnit.SECONDS)) {
+                candidatePool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            candidatePool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public List<String> recommendSongIds(UserPref userPref, int size) {
+        return recommendSongIds(userPref.getTagFrequency(), userPref.getCategoryFrequency(), userPref.getCountryFrequency(),
+                PreferenceScoring.of(userPref), size);
+    }
+
+    public List<String> recommendSongIdsForAlbum(Album album, int size) {
+        return recommendSongIds(album.getTagFrequency(), album.getCategoryFrequency(), album.getCountryFrequency(),
+                PreferenceScoring.of(album), size);
+    }
+
+    public List<String> recommendSongIds(Map<String, Integer> tagFrequency, Map<String, Integer> categoryFrequency,
+                                         Map<String, Integer> countryFrequency, ScoringFunction scoring, int size) {
+        List<Callable<List<Candidate>>> fetches = new ArrayList<>();
+
+        List<String> topTags = top(tagFrequency, 2);
+
+        if (!topTags.isEmpty()) {
+            fetches.add(() -> findSongCandidates(Criteria.where("tags").in(topTags)));
+        }
+
+        for (String categoryId : top(categoryFrequency, 2)) {
+            fetches.add(() -> findSongCandidates(Criteria.where("categoryId").is(categoryId)));
+        }
+
+        for (String countryId : top(countryFrequency, 2)) {
+            fetches.add(() -> findSongCandidates(Criteria.where("countryId").is(countryId)));
+        }
+
+        Category pop = referenceDataCache.getCategoryByName("Pop");
+        Callable<List<Candidate>> fallback = pop == null ? null : () -> findSongCandidates(Criteria.where("categoryId").is(pop.getId()));
+
+        return TopK.ids(gather(fetches, fallback, MIN_SONG_CANDIDATES), scoring, size);
+    }
+
+    public List<String> recommendAlbumIds(UserPref userPref, int size) {
+        List<Callable<List<Candidate>>> fetches = new ArrayList<>();
+
+        List<String> topTags = top(userPref.getTagFrequency(), 2);
+
+        if (!topTags.isEmpty()) {
+            fetches.add(() -> findAlbumCandidates(Criteria.where("mainTag").in(topTags)));
+        }
+
+        for (String categoryId : top(userPref.getCategoryFrequency(), 2)) {
+            fetches.add(() -> findAlbumCandidates(Criteria.where("mainCategory").is(categoryId)));
+        }
+
+        for (String countryId : top(userPref.getCountryFrequency(), 2)) {
+            fetches.add(() -> findAlbumCandidates(Criteria.where("mainCountry").is(countryId)));
+        }
+
+        Category pop = referenceDataCache.getCategoryByName("Pop");
+        Callable<List<Candidate>> fallback = pop == null ? null : () -> findAlbumCandidates(Criteria.where("mainCategory").is(pop.getId()));
+
+        return TopK.ids(gather(fetches, fallback, MIN_ALBUM_CANDIDATES), PreferenceScoring.of(userPref), size);
+    }
+
+    /**
+     * Runs every candidate fetch (and the fallback, speculatively) at once and merges the results
+     * in fetch order, so latency is that of the slowest query rather than the sum. Fetches still
+     * running at the deadline are cancelled and their candidates left out. The fallback is only
+     * merged when the other fetches produced fewer than {@code minCandidates}.
+     */
+    private Collection<Candidate> gather(List<Callable<List<Candidate>>> fetches, Callable<List<Candidate>> fallback, int minCandidates) {
+        List<Future<List<Candidate>>> futures = new ArrayList<>();
+
+        for (Callable<List<Candidate>> fetch : fetches) {
+            futures.add(candidatePool.submit(fetch));
+        }
+
+        Future<List<Candidate>> fallbackFuture = fallback == null ? null : candidatePool.submit(fallback);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fanoutDeadlineMs);
+
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+
+        for (Future<List<Candidate>> future : futures) {
+            merge(candidates, future, deadline);
+        }
+
+        if (fallbackFuture != null) {
+            if (candidates.size() < minCandidates) {
+                merge(candidates, fallbackFuture, deadline);
+            } else {
+                fallbackFuture.cancel(true);
+            }
+        }
+
+        return candidates.values();
+    }
+
+    private static void merge(Map<String, Candidate> candidates, Future<List<Candidate>> future, long deadline) {
+        try {
+            for (Candidate candidate : future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                candidates.putIfAbsent(candidate.id(), candidate);
+            }
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Recommendation candidate query missed the deadline, returning partial results");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Error fetching recommendation candidates: {}", e.getCause().getMessage());
+        }
+    }
+
+    private List<Candidate> findSongCandidates(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(CANDIDATE_LIMIT);
+        query.fields().include("tags").include("categoryId").include("countryId");
+
+        return mongoTemplate.find(query, Song.class).stream()
+                .map(song -> new Candidate(song.getId(), song.getTags(), song.getCategoryId(), song.getCountryId()))
+                .toList();
+    }
+
+    private List<Candidate> findAlbumCandidates(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
+        query.addCriteria(Criteria.where("albumType").in(AlbumType.ARTIST_ALBUM.toString(), AlbumType.PLAYLIST.toString()));
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(CANDIDATE_LIMIT);
+        query.fields().include("mainTag").include("mainCategory").include("mainCountry");
+
+        return mongoTemplate.find(query, Album.class).stream()
+                .map(album -> new Candidate(album.getId(), album.getMainTag() == null ? List.of() : List.of(album.getMainTag()),
+                        album.getMainCategory(), album.getMainCountry()))
+                .toList();
+    }
+
+    private static List<String> top(Map<String, Integer> frequency, int count) {
+        if (frequency == null) {
+            return new ArrayList<>();
+        }
+
+        return frequency.entrySet().stream()
+                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
+                .limit(count)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -0,0 +1,6 @@
+package com.eternify.backend.song.recommendation;
+
+@FunctionalInterface
+public interface ScoringFunction {
+    double score(Candidate candidate);
+}
@@ -0,0 +1,48 @@
+package com.eternify.backend.song.recommendation;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+
+/**
+ * Selects the k best-scoring candidates with a bounded min-heap, so memory stays at O(k) and time
+ * at O(n log k) however many candidates are offered. Ties keep the order the candidates were
+ * offered in.
+ */
+@UtilityClass
+public class TopK {
+    public static List<String> ids(Collection<Candidate> candidates, ScoringFunction scoring, int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+
+        Comparator<Scored> worstFirst = Comparator.comparingDouble(Scored::score)
+                .thenComparing(Comparator.comparingLong(Scored::order).reversed());
+        PriorityQueue<Scored> heap = new PriorityQueue<>(k + 1, worstFirst);
+        long order = 0;
+
+        for (Candidate candidate : candidates) {
+            Scored scored = new Scored(candidate.id(), scoring.score(candidate), order++);
+
+            if (heap.size() < k) {
+                heap.add(scored);
+            } else if (worstFirst.compare(scored, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+
+        List<String> result = new ArrayList<>(heap.size());
+
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().id());
+        }
+
+        Collections.reverse(result);
+
+        return result;
+    }
+
+    private record Scored(String id, double score, long order) {
+    }
+}
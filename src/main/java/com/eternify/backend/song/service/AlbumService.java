@@ -1,7 +1,7 @@
 package com.eternify.backend.song.service;
 
+import com.eternify.backend.common.api.CursorPage;
 import com.eternify.backend.song.dto.*;
-import com.eternify.backend.song.model.AlbumType;
 
 import java.util.List;
 
@@ -10,6 +10,7 @@ public interface AlbumService {
     void deleteAlbum(String id);
     void updateAlbum(AlbumEditDTO albumEditDTO);
     AlbumDTO getAlbum(String id);
+    CursorPage<SongAlbumDTO> getTracks(String albumId, String cursor, int limit);
     void cloneAlbum(String id);
 
     void addSongToAlbum(AddRemoveSongDTO addRemoveSongDTO);
@@ -24,13 +25,14 @@ public interface AlbumService {
     void favoriteAlbum(String id);
     void unfavoriteAlbum(String id);
 
-    List<AlbumDTO> getFavorites(String albumType, int limit);
+    List<AlbumSummaryDTO> getFavorites(String albumType, int limit);
 
-    List<AlbumDTO> searchByName(String prefix, String albumType, int limit);
-    List<AlbumDTO> searchByArtist(String artistId, String albumType, int limit);
-    List<AlbumDTO> searchByCategory(String categoryId, String albumType, int limit);
-    List<AlbumDTO> searchByCountry(String countryId, String albumType, int limit);
-    List<AlbumDTO> searchByTag(List<String> tags, String albumType, int limit);
+    CursorPage<AlbumSummaryDTO> searchByName(String prefix, String albumType, String cursor, int limit);
+    CursorPage<AlbumSummaryDTO> searchByArtist(String artistId, String albumType, String cursor, int limit);
+    CursorPage<AlbumSummaryDTO> searchByCategory(String categoryId, String albumType, String cursor, int limit);
+    CursorPage<AlbumSummaryDTO> searchByCountry(String countryId, String albumType, String cursor, int limit);
+    CursorPage<AlbumSummaryDTO> searchByTag(List<String> tags, String albumType, String cursor, int limit);
 
-    List<AlbumDTO> getAlbumRecommendations(int limit);
+    List<AlbumSummaryDTO> getAlbumRecommendations(int limit);
+    List<AlbumSummaryDTO> getTrending(String window, String categoryId, String countryId, String tagId, int limit);
 }
@@ -0,0 +1,26 @@
+package com.eternify.backend.song.service;
+
+import com.eternify.backend.common.api.CursorPage;
+import com.eternify.backend.song.dto.AlbumDTO;
+import com.eternify.backend.song.dto.AlbumSummaryDTO;
+import com.eternify.backend.song.dto.SongAlbumDTO;
+import com.eternify.backend.song.dto.SongDTO;
+import com.eternify.backend.song.model.Album;
+import com.eternify.backend.song.model.AlbumTrack;
+import com.eternify.backend.song.model.Song;
+
+import java.util.List;
+
+public interface HydrationService {
+    List<SongDTO> toSongDTOs(List<Song> songs);
+    List<SongDTO> toSongDTOsByIds(List<String> songIds);
+    List<SongDTO> toPublicSongDTOsByIds(List<String> songIds);
+    SongDTO toSongDTO(Song song);
+
+    List<SongAlbumDTO> toSongAlbumDTOs(List<AlbumTrack> tracks);
+    AlbumDTO toAlbumDTO(Album album, CursorPage<AlbumTrack> tracks);
+
+    List<AlbumSummaryDTO> toAlbumSummaries(List<Album> albums);
+    List<AlbumSummaryDTO> toAlbumSummariesByIds(List<String> albumIds);
+    List<AlbumSummaryDTO> toPublicAlbumSummariesByIds(List<String> albumIds);
+}
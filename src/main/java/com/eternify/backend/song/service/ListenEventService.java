@@ -0,0 +1,9 @@
+package com.eternify.backend.song.service;
+
+import com.eternify.backend.song.dto.ListenStatsDTO;
+
+public interface ListenEventService {
+    void record(String userId, String songId);
+
+    ListenStatsDTO getStats();
+}
@@ -0,0 +1,11 @@
+package com.eternify.backend.song.service;
+
+import java.util.List;
+
+public interface RecommendationFeedService {
+    List<String> getSongIds(String userId, int limit);
+
+    void markDirty(String userId);
+    void recompute(String userId);
+    long invalidateAll();
+}
@@ -1,5 +1,6 @@
 package com.eternify.backend.song.service;
 
+import com.eternify.backend.common.api.CursorPage;
 import com.eternify.backend.song.dto.SongAddDTO;
 import com.eternify.backend.song.dto.SongDTO;
 import com.eternify.backend.song.dto.SongEditDTO;
@@ -18,16 +19,18 @@ public interface SongService {
     void favoriteSong(String id);
     void unfavoriteSong(String id);
 
-    List<SongDTO> searchByName(String prefix, int limit);
-    List<SongDTO> searchByArtist(String artistId, int limit);
-    List<SongDTO> searchByCategory(String categoryId, int limit);
-    List<SongDTO> searchByCountry(String countryId, int limit);
-    List<SongDTO> searchByTag(List<String> tags, int limit);
+    CursorPage<SongDTO> searchByName(String prefix, String cursor, int limit);
+    CursorPage<SongDTO> searchByArtist(String artistId, String cursor, int limit);
+    CursorPage<SongDTO> searchByCategory(String categoryId, String cursor, int limit);
+    CursorPage<SongDTO> searchByCountry(String countryId, String cursor, int limit);
+    CursorPage<SongDTO> searchByTag(List<String> tags, String cursor, int limit);
 
     List<SongDTO> getUserRecommendations(int limit);
     List<SongDTO> getAlbumRecommendations(String albumId, int limit);
-    List<SongDTO> getUserHistory(int limit);
+    CursorPage<SongDTO> getUserHistory(String cursor, int limit);
     List<SongDTO> getFavorites(int limit);
+    List<SongDTO> getTrending(String window, String categoryId, String countryId, String tagId, int limit);
+    List<SongDTO> getHot(int limit);
 
     void songListened(String id);
     void updateFavouriteArtistForRecommendations(List<String> artistIds);
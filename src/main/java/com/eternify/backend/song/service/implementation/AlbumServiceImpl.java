@@ -1,186 +1,156 @@
 package com.eternify.backend.song.service.implementation;
 
+import com.eternify.backend.common.api.CursorPage;
 import com.eternify.backend.common.exception.BusinessException;
 import com.eternify.backend.song.dto.*;
+import com.eternify.backend.song.facet.AlbumFacets;
+import com.eternify.backend.song.facet.AlbumStatsUpdater;
 import com.eternify.backend.song.model.Album;
 import com.eternify.backend.song.model.AlbumType;
 import com.eternify.backend.song.model.Song;
 import com.eternify.backend.song.model.Status;
-import com.eternify.backend.song.repository.CategoryRepository;
-import com.eternify.backend.song.repository.CountryRepository;
-import com.eternify.backend.song.repository.TagRepository;
+import com.eternify.backend.song.model.UserPref;
+import com.eternify.backend.song.recommendation.RecommendationEngine;
 import com.eternify.backend.song.service.AlbumService;
+import com.eternify.backend.song.service.HydrationService;
+import com.eternify.backend.song.track.AlbumTrackStore;
+import com.eternify.backend.song.trending.TrendingCharts;
+import com.eternify.backend.song.trending.TrendingKind;
+import com.eternify.backend.suggest.model.SuggestionKind;
+import com.eternify.backend.suggest.service.SuggestService;
 import com.eternify.backend.user.model.Role;
 import com.eternify.backend.user.model.User;
 import com.eternify.backend.user.repository.UserRepository;
 import com.eternify.backend.util.AuthenticationUtils;
-import jakarta.annotation.PostConstruct;
+import com.eternify.backend.util.CursorUtils;
+import com.eternify.backend.util.PreferenceUpdateUtils;
+import com.eternify.backend.util.SearchTextUtils;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AlbumServiceImpl implements AlbumService {
+
+    /**
+     * Copied verbatim by {@link #cloneAlbum}; identity, ownership, type, version and dates are set
+     * for the clone instead.
+     */
+    private static final String[] CLONED_FIELDS = {
+            "name", "description", "persistentCoverId", "status", "searchPrefixes", "searchTrigrams", "searchLeading", "searchLength",
+            "songCount", "totalLength", "categoryFrequency", "countryFrequency", "tagFrequency",
+            "mainCategory", "mainCountry", "mainTag", "_class"
+    };
+
     private final MongoTemplate mongoTemplate;
+    private final HydrationService hydrationService;
+    private final SuggestService suggestService;
+    private final RecommendationEngine recommendationEngine;
     private final UserRepository userRepository;
-    private final TagRepository tagRepository;
-    private final CategoryRepository categoryRepository;
-    private final CountryRepository countryRepository;
-    private ModelMapper modelMapper;
-
-    @PostConstruct
-    private void setupModelMapper() {
-        modelMapper = new ModelMapper();
-
-        modelMapper.createTypeMap(Album.class, AlbumDTO.class).setConverter(context -> {
-            Album album = context.getSource();
-
-            AlbumDTO albumDTO = AlbumDTO.builder()
-                    .id(album.getId())
-                    .name(album.getName())
-                    .description(album.getDescription())
-                    .owner(userRepository.findById(album.getOwnerId()).orElse(null))
-                    .persistentCoverId(album.getPersistentCoverId())
-                    .status(album.getStatus())
-                    .albumType(album.getAlbumType())
-                    .createdDate(album.getCreatedDate())
-                    .modifiedDate(album.getModifiedDate())
-                    .build();
-
-            List<Song> songs = album.getSongs().stream().map(songId -> mongoTemplate.findById(songId, Song.class)).toList();
-
-            List<SongAlbumDTO> songAlbumDTOs = songs.stream().map(song -> {
-                if (song == null) {
-                    return null;
-                }
-
-                return SongAlbumDTO.builder()
-                        .id(song.getId())
-                        .title(song.getTitle())
-                        .artist(userRepository.findById(song.getArtistId()).orElse(null))
-                        .persistentSongId(song.getPersistentSongId())
-                        .category(categoryRepository.findById(song.getCategoryId()).orElse(null))
-                        .country(countryRepository.findById(song.getCountryId()).orElse(null))
-                        .length(song.getLength())
-                        .tags(song.getTags().stream().map(tagId -> tagRepository.findById(tagId).orElse(null)).toList())
-                        .persistentCoverId(song.getPersistentCoverId())
-                        .status(song.getStatus())
-                        .additionTime(album.getSongAdditionTime().getOrDefault(song.getId(), null))
-                        .build();
-            }).toList();
-
-            songAlbumDTOs = songAlbumDTOs.stream().filter(Objects::nonNull).toList();
-
-            albumDTO.setSongs(songAlbumDTOs);
-            return albumDTO;
-        });
-    }
+    private final AlbumTrackStore albumTrackStore;
+    private final TrendingCharts trendingCharts;
+    private final AlbumStatsUpdater albumStatsUpdater;
 
     @Override
     public void createAlbum(AlbumAddDTO albumAddDTO) {
+        List<String> songIds = new ArrayList<>(new LinkedHashSet<>(albumAddDTO.getSongs()));
+        List<Song> songs = findSongs(songIds);
+
         Album album = Album.builder()
                 .name(albumAddDTO.getName())
                 .description(albumAddDTO.getDescription())
                 .ownerId(AuthenticationUtils.getCurrentUser().getId())
                 .persistentCoverId(albumAddDTO.getPersistentCoverId())
                 .status(albumAddDTO.getStatus().equals(Status.PUBLIC.toString()) ? Status.PUBLIC.toString() : Status.PRIVATE.toString())
+                .searchPrefixes(SearchTextUtils.prefixes(albumAddDTO.getName()))
+                .searchTrigrams(SearchTextUtils.trigrams(albumAddDTO.getName()))
+                .searchLeading(SearchTextUtils.leadingPrefixes(albumAddDTO.getName()))
+                .searchLength(SearchTextUtils.searchLength(albumAddDTO.getName()))
                 .build();
 
-        album = mongoTemplate.save(album);
-
         if (AuthenticationUtils.getCurrentUser().getRole().equals(Role.ARTIST.toString())) {
             album.setAlbumType(albumAddDTO.getAlbumType().equals(AlbumType.ARTIST_ALBUM.toString()) ? AlbumType.ARTIST_ALBUM.toString() : AlbumType.PLAYLIST.toString());
         } else {
             album.setAlbumType(AlbumType.PLAYLIST.toString());
         }
 
-        for (String songId : albumAddDTO.getSongs()) {
-            Song song = mongoTemplate.findById(songId, Song.class);
-
-            if (song == null) {
-                throw new BusinessException(HttpStatus.NOT_FOUND, "Song doesn't exist");
-            }
-
-            album.getSongs().add(songId);
-            album.getSongAdditionTime().put(songId, new Date());
-
-            album.getCategoryFrequency().put(song.getCategoryId(), album.getCategoryFrequency().getOrDefault(song.getCategoryId(), 0) + 1);
-
-            if (album.getCategoryFrequency().get(song.getCategoryId()) > album.getCategoryFrequency().getOrDefault(album.getMainCategory(), 0)) {
-                album.setMainCategory(song.getCategoryId());
-            }
-
-            album.getCountryFrequency().put(song.getCountryId(), album.getCountryFrequency().getOrDefault(song.getCountryId(), 0) + 1);
-
-            if (album.getCountryFrequency().get(song.getCountryId()) > album.getCountryFrequency().getOrDefault(album.getMainCountry(), 0)) {
-                album.setMainCountry(song.getCountryId());
-            }
-
-            for (String tagId : song.getTags()) {
-                album.getTagFrequency().put(tagId, album.getTagFrequency().getOrDefault(tagId, 0) + 1);
-
-                if (album.getTagFrequency().get(tagId) > album.getTagFrequency().getOrDefault(album.getMainTag(), 0)) {
-                    album.setMainTag(tagId);
-                }
-            }
-        }
+        AlbumFacets.trackStatsUpdate(album, songs, 1);
 
-        mongoTemplate.save(album);
+        album = mongoTemplate.save(album);
+        albumTrackStore.append(album.getId(), songIds, new Date());
+        indexSuggestion(album);
     }
 
     @Override
     public void deleteAlbum(String albumId) {
-        Album album = mongoTemplate.findById(albumId, Album.class);
+        Query query = new Query(Criteria.where("_id").is(albumId).and("ownerId").is(AuthenticationUtils.getCurrentUser().getId()));
 
-        if (album == null) {
-            throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
-        }
-
-        if (!album.getOwnerId().equals(AuthenticationUtils.getCurrentUser().getId())) {
-            throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
+        if (mongoTemplate.remove(query, Album.class).getDeletedCount() == 0) {
+            throw ownershipFailure(albumId);
         }
 
-        mongoTemplate.remove(album);
+        albumTrackStore.removeAll(albumId);
+        suggestService.remove(SuggestionKind.ALBUM, albumId);
     }
 
     @Override
     public void updateAlbum(AlbumEditDTO albumEditDTO) {
-        Album album = mongoTemplate.findById(albumEditDTO.getId(), Album.class);
-
-        if (album == null) {
-            throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
-        }
-
-        if (!album.getOwnerId().equals(AuthenticationUtils.getCurrentUser().getId())) {
-            throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
-        }
-
-        album.setName(albumEditDTO.getName());
-        album.setDescription(albumEditDTO.getDescription());
-        album.setPersistentCoverId(albumEditDTO.getPersistentCoverId());
-        album.setStatus(albumEditDTO.getStatus().equals(Status.PUBLIC.toString()) ? Status.PUBLIC.toString() : Status.PRIVATE.toString());
+        String albumType;
 
         if (AuthenticationUtils.getCurrentUser().getRole().equals(Role.ARTIST.toString())) {
-            album.setAlbumType(albumEditDTO.getAlbumType().equals(AlbumType.ARTIST_ALBUM.toString()) ? AlbumType.ARTIST_ALBUM.toString() : AlbumType.PLAYLIST.toString());
+            albumType = albumEditDTO.getAlbumType().equals(AlbumType.ARTIST_ALBUM.toString()) ? AlbumType.ARTIST_ALBUM.toString() : AlbumType.PLAYLIST.toString();
         } else {
-            album.setAlbumType(AlbumType.PLAYLIST.toString());
+            albumType = AlbumType.PLAYLIST.toString();
         }
 
-        mongoTemplate.save(album);
+        Update update = new Update()
+                .set("name", albumEditDTO.getName())
+                .set("searchPrefixes", SearchTextUtils.prefixes(albumEditDTO.getName()))
+                .set("searchTrigrams", SearchTextUtils.trigrams(albumEditDTO.getName()))
+                .set("searchLeading", SearchTextUtils.leadingPrefixes(albumEditDTO.getName()))
+                .set("searchLength", SearchTextUtils.searchLength(albumEditDTO.getName()))
+                .set("description", albumEditDTO.getDescription())
+                .set("persistentCoverId", albumEditDTO.getPersistentCoverId())
+                .set("status", albumEditDTO.getStatus().equals(Status.PUBLIC.toString()) ? Status.PUBLIC.toString() : Status.PRIVATE.toString())
+                .set("albumType", albumType);
+
+        indexSuggestion(updateOwnedAlbum(albumEditDTO.getId(), update));
     }
 
     @Override
     public AlbumDTO getAlbum(String albumId) {
-        Album album = mongoTemplate.findById(albumId, Album.class);
+        Album album = findReadableAlbum(albumId);
+
+        return hydrationService.toAlbumDTO(album, albumTrackStore.page(albumId, null, 0));
+    }
+
+    @Override
+    public CursorPage<SongAlbumDTO> getTracks(String albumId, String cursor, int limit) {
+        findReadableAlbum(albumId);
+
+        return albumTrackStore.page(albumId, cursor, limit).map(hydrationService::toSongAlbumDTOs);
+    }
+
+    private Album findReadableAlbum(String albumId) {
+        Query query = new Query(Criteria.where("_id").is(albumId));
+        query.fields().exclude("searchPrefixes", "searchTrigrams", "searchLeading");
+
+        Album album = mongoTemplate.findOne(query, Album.class);
 
         if (album == null) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
@@ -190,12 +160,15 @@ public class AlbumServiceImpl implements AlbumService {
             throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this private album");
         }
 
-        return modelMapper.map(album, AlbumDTO.class);
+        return album;
     }
 
     @Override
     public void cloneAlbum(String id) {
-        Album album = mongoTemplate.findById(id, Album.class);
+        Query source = new Query(Criteria.where("_id").is(id));
+        source.fields().include("ownerId", "status", "name");
+
+        Album album = mongoTemplate.findOne(source, Album.class);
 
         if (album == null) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
@@ -205,24 +178,29 @@ public class AlbumServiceImpl implements AlbumService {
             throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this private album");
         }
 
-        Album cloneAlbum = Album.builder()
-                .name(album.getName())
-                .description(album.getDescription())
-                .ownerId(AuthenticationUtils.getCurrentUser().getId())
-                .persistentCoverId(album.getPersistentCoverId())
-                .status(album.getStatus())
-                .songs(album.getSongs())
-                .albumType(AlbumType.PLAYLIST.toString())
-                .songAdditionTime(album.getSongAdditionTime())
-                .categoryFrequency(album.getCategoryFrequency())
-                .tagFrequency(album.getTagFrequency())
-                .countryFrequency(album.getCountryFrequency())
-                .mainCategory(album.getMainCategory())
-                .mainTag(album.getMainTag())
-                .mainCountry(album.getMainCountry())
-                .build();
-
-        mongoTemplate.save(cloneAlbum);
+        ObjectId cloneId = new ObjectId();
+        Date now = new Date();
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").is(ObjectId.isValid(id) ? new ObjectId(id) : id)),
+                Aggregation.project(CLONED_FIELDS)
+                        .and(LiteralOperators.valueOf(cloneId).asLiteral()).as("_id")
+                        .and(LiteralOperators.valueOf(AuthenticationUtils.getCurrentUser().getId()).asLiteral()).as("ownerId")
+                        .and(LiteralOperators.valueOf(AlbumType.PLAYLIST.toString()).asLiteral()).as("albumType")
+                        .and(LiteralOperators.valueOf(0L).asLiteral()).as("version")
+                        .and(LiteralOperators.valueOf(now).asLiteral()).as("createdDate")
+                        .and(LiteralOperators.valueOf(now).asLiteral()).as("modifiedDate"),
+                Aggregation.merge()
+                        .intoCollection("album")
+                        .whenDocumentsMatch(MergeOperation.WhenDocumentsMatch.failOnMatch())
+                        .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                        .build());
+
+        mongoTemplate.aggregate(aggregation, "album", Album.class);
+        albumTrackStore.copy(id, cloneId.toHexString());
+
+        album.setId(cloneId.toHexString());
+        indexSuggestion(album);
     }
 
     @Override
@@ -230,192 +208,77 @@ public class AlbumServiceImpl implements AlbumService {
         String albumId = addRemoveSongDTO.getAlbumId();
         String songId = addRemoveSongDTO.getSongId();
 
-        Album album = mongoTemplate.findById(albumId, Album.class);
-
-        if (album == null) {
-            throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
-        }
-
-        if (!album.getOwnerId().equals(AuthenticationUtils.getCurrentUser().getId())) {
-            throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
-        }
+        findOwnedAlbum(albumId);
 
-        if (album.getSongs().contains(songId)) {
+        if (albumTrackStore.contains(albumId, songId)) {
             throw new BusinessException(HttpStatus.BAD_REQUEST, "Song already exists in the album");
         }
 
-        Song song = mongoTemplate.findById(songId, Song.class);
+        List<Song> songs = findSongs(List.of(songId));
 
-        if (song == null) {
-            throw new BusinessException(HttpStatus.NOT_FOUND, "Song doesn't exist");
-        }
-
-        album.getSongs().add(songId);
-        album.getSongAdditionTime().put(songId, new Date());
-
-        album.getCategoryFrequency().put(song.getCategoryId(), album.getCategoryFrequency().getOrDefault(song.getCategoryId(), 0) + 1);
-
-        if (album.getCategoryFrequency().get(song.getCategoryId()) > album.getCategoryFrequency().getOrDefault(album.getMainCategory(), 0)) {
-            album.setMainCategory(song.getCategoryId());
-        }
-
-        album.getCountryFrequency().put(song.getCountryId(), album.getCountryFrequency().getOrDefault(song.getCountryId(), 0) + 1);
-
-        if (album.getCountryFrequency().get(song.getCountryId()) > album.getCountryFrequency().getOrDefault(album.getMainCountry(), 0)) {
-            album.setMainCountry(song.getCountryId());
-        }
-
-        for (String tagId : song.getTags()) {
-            album.getTagFrequency().put(tagId, album.getTagFrequency().getOrDefault(tagId, 0) + 1);
-
-            if (album.getTagFrequency().get(tagId) > album.getTagFrequency().getOrDefault(album.getMainTag(), 0)) {
-                album.setMainTag(tagId);
-            }
-        }
-
-        mongoTemplate.save(album);
+        appendTracks(albumId, List.of(songId));
+        albumStatsUpdater.applyTracks(albumId, songs, 1);
     }
 
     @Override
     public void addSongBatchToAlbum(AddRemoveSongBatchDTO dto) {
         String albumId = dto.getAlbumId();
-        List<String> songs = dto.getSongs();
-
-        Album album = mongoTemplate.findById(albumId, Album.class);
+        List<String> songIds = new ArrayList<>(new LinkedHashSet<>(dto.getSongs()));
 
-        if (album == null) {
-            throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
-        }
+        findOwnedAlbum(albumId);
 
-        if (!album.getOwnerId().equals(AuthenticationUtils.getCurrentUser().getId())) {
-            throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
+        if (!albumTrackStore.existing(albumId, songIds).isEmpty()) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Song already exists in the album");
         }
-        for (String songId : songs) {
-            if (album.getSongs().contains(songId)) {
-                throw new BusinessException(HttpStatus.BAD_REQUEST, "Song already exists in the album");
-            }
-
-            Song song = mongoTemplate.findById(songId, Song.class);
-
-            if (song == null) {
-                throw new BusinessException(HttpStatus.NOT_FOUND, "Song doesn't exist");
-            }
-
-            album.getSongs().add(songId);
-            album.getSongAdditionTime().put(songId, new Date());
-
-            album.getCategoryFrequency().put(song.getCategoryId(), album.getCategoryFrequency().getOrDefault(song.getCategoryId(), 0) + 1);
-
-            if (album.getCategoryFrequency().get(song.getCategoryId()) > album.getCategoryFrequency().getOrDefault(album.getMainCategory(), 0)) {
-                album.setMainCategory(song.getCategoryId());
-            }
-
-            album.getCountryFrequency().put(song.getCountryId(), album.getCountryFrequency().getOrDefault(song.getCountryId(), 0) + 1);
-
-            if (album.getCountryFrequency().get(song.getCountryId()) > album.getCountryFrequency().getOrDefault(album.getMainCountry(), 0)) {
-                album.setMainCountry(song.getCountryId());
-            }
 
-            for (String tagId : song.getTags()) {
-                album.getTagFrequency().put(tagId, album.getTagFrequency().getOrDefault(tagId, 0) + 1);
+        List<Song> songs = findSongs(songIds);
 
-                if (album.getTagFrequency().get(tagId) > album.getTagFrequency().getOrDefault(album.getMainTag(), 0)) {
-                    album.setMainTag(tagId);
-                }
-            }
-        }
-
-        mongoTemplate.save(album);
+        appendTracks(albumId, songIds);
+        albumStatsUpdater.applyTracks(albumId, songs, 1);
     }
 
     @Override
     public void removeSongBatchFromAlbum(AddRemoveSongBatchDTO dto) {
         String albumId = dto.getAlbumId();
-        List<String> songs = dto.getSongs();
-
-        Album album = mongoTemplate.findById(albumId, Album.class);
+        List<String> songIds = new ArrayList<>(new LinkedHashSet<>(dto.getSongs()));
 
-        if (album == null) {
-            throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
-        }
+        findOwnedAlbum(albumId);
 
-        if (!album.getOwnerId().equals(AuthenticationUtils.getCurrentUser().getId())) {
-            throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
+        if (albumTrackStore.existing(albumId, songIds).size() != songIds.size()) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Song doesn't exist in the album");
         }
 
-        for (String songId : songs) {
-            if (!album.getSongs().contains(songId)) {
-                throw new BusinessException(HttpStatus.BAD_REQUEST, "Song doesn't exist in the album");
-            }
-
-            Song song = mongoTemplate.findById(songId, Song.class);
-
-            if (song == null) {
-                throw new BusinessException(HttpStatus.NOT_FOUND, "Song doesn't exist");
-            }
-
-            album.getSongs().remove(songId);
-            album.getSongAdditionTime().remove(songId);
-
-            album.getCategoryFrequency().put(song.getCategoryId(), album.getCategoryFrequency().get(song.getCategoryId()) - 1);
+        List<Song> songs = findSongs(songIds);
 
-            if (album.getCategoryFrequency().get(song.getCategoryId()) == 0) {
-                album.getCategoryFrequency().remove(song.getCategoryId());
-            }
-
-            if (song.getCategoryId().equals(album.getMainCategory())) {
-                album.setMainCategory("");
-
-                for (String categoryId : album.getCategoryFrequency().keySet()) {
-                    if (album.getCategoryFrequency().get(categoryId) > album.getCategoryFrequency().getOrDefault(album.getMainCategory(), 0)) {
-                        album.setMainCategory(categoryId);
-                    }
-                }
-            }
-
-            album.getCountryFrequency().put(song.getCountryId(), album.getCountryFrequency().get(song.getCountryId()) - 1);
-
-            if (album.getCountryFrequency().get(song.getCountryId()) == 0) {
-                album.getCountryFrequency().remove(song.getCountryId());
-            }
-
-            if (song.getCountryId().equals(album.getMainCountry())) {
-                album.setMainCountry("");
+        if (albumTrackStore.remove(albumId, songIds) == songIds.size()) {
+            albumStatsUpdater.applyTracks(albumId, songs, -1);
+        } else {
+            // A concurrent request removed some of these songs too, so which removals are ours is unknown.
+            albumStatsUpdater.recount(albumId);
+        }
+    }
 
-                for (String countryId : album.getCountryFrequency().keySet()) {
-                    if (album.getCountryFrequency().get(countryId) > album.getCountryFrequency().getOrDefault(album.getMainCountry(), 0)) {
-                        album.setMainCountry(countryId);
-                    }
-                }
-            }
+    @Override
+    public void removeSongFromAlbum(AddRemoveSongDTO dto) {
+        String albumId = dto.getAlbumId();
+        String songId = dto.getSongId();
 
-            for (String tagId : song.getTags()) {
-                album.getTagFrequency().put(tagId, album.getTagFrequency().get(tagId) - 1);
+        findOwnedAlbum(albumId);
 
-                if (album.getTagFrequency().get(tagId) == 0) {
-                    album.getTagFrequency().remove(tagId);
-                }
+        if (!albumTrackStore.contains(albumId, songId)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Song doesn't exist in the album");
+        }
 
-                if (tagId.equals(album.getMainTag())) {
-                    album.setMainTag("");
+        List<Song> songs = findSongs(List.of(songId));
 
-                    for (String tagIdEntry : album.getTagFrequency().keySet()) {
-                        if (album.getTagFrequency().get(tagIdEntry) > album.getTagFrequency().getOrDefault(album.getMainTag(), 0)) {
-                            album.setMainTag(tagIdEntry);
-                        }
-                    }
-                }
-            }
+        if (albumTrackStore.remove(albumId, List.of(songId)) == 0) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Song doesn't exist in the album");
         }
 
-        mongoTemplate.save(album);
+        albumStatsUpdater.applyTracks(albumId, songs, -1);
     }
 
-    @Override
-    public void removeSongFromAlbum(AddRemoveSongDTO dto) {
-        String albumId = dto.getAlbumId();
-        String songId = dto.getSongId();
-
+    private Album findOwnedAlbum(String albumId) {
         Album album = mongoTemplate.findById(albumId, Album.class);
 
         if (album == null) {
@@ -426,70 +289,64 @@ public class AlbumServiceImpl implements AlbumService {
             throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
         }
 
-        if (!album.getSongs().contains(songId)) {
-            throw new BusinessException(HttpStatus.BAD_REQUEST, "Song doesn't exist in the album");
-        }
-
-        Song song = mongoTemplate.findById(songId, Song.class);
+        return album;
+    }
 
-        if (song == null) {
-            throw new BusinessException(HttpStatus.NOT_FOUND, "Song doesn't exist");
+    /**
+     * Resolves every requested song with one {@code $in} query and fails before anything is written
+     * if any of them does not exist.
+     */
+    private List<Song> findSongs(Collection<String> songIds) {
+        if (songIds.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        album.getSongs().remove(songId);
-        album.getSongAdditionTime().remove(songId);
+        Query query = new Query(Criteria.where("_id").in(songIds));
+        query.fields().include("categoryId", "countryId", "tags", "length");
 
-        album.getCategoryFrequency().put(song.getCategoryId(), album.getCategoryFrequency().get(song.getCategoryId()) - 1);
+        Map<String, Song> songs = mongoTemplate.find(query, Song.class).stream()
+                .collect(Collectors.toMap(Song::getId, Function.identity(), (a, b) -> a));
 
-        if (album.getCategoryFrequency().get(song.getCategoryId()) == 0) {
-            album.getCategoryFrequency().remove(song.getCategoryId());
+        if (songs.size() != songIds.size()) {
+            throw new BusinessException(HttpStatus.NOT_FOUND, "Song doesn't exist");
         }
 
-        if (song.getCategoryId().equals(album.getMainCategory())) {
-            album.setMainCategory("");
+        return songIds.stream().map(songs::get).toList();
+    }
 
-            for (String categoryId : album.getCategoryFrequency().keySet()) {
-                if (album.getCategoryFrequency().get(categoryId) > album.getCategoryFrequency().getOrDefault(album.getMainCategory(), 0)) {
-                    album.setMainCategory(categoryId);
-                }
-            }
-        }
+    /**
+     * Applies {@code update} only if the current user owns the album, bumping its version, and
+     * returns the album's name and status afterwards. Nothing is read first; only when no document
+     * matches is the album looked up to tell a missing album from someone else's.
+     */
+    private Album updateOwnedAlbum(String albumId, Update update) {
+        Query query = new Query(Criteria.where("_id").is(albumId).and("ownerId").is(AuthenticationUtils.getCurrentUser().getId()));
+        query.fields().include("name", "status");
 
-        album.getCountryFrequency().put(song.getCountryId(), album.getCountryFrequency().get(song.getCountryId()) - 1);
+        Album album = mongoTemplate.findAndModify(query, update.inc("version", 1).set("modifiedDate", new Date()),
+                FindAndModifyOptions.options().returnNew(true), Album.class);
 
-        if (album.getCountryFrequency().get(song.getCountryId()) == 0) {
-            album.getCountryFrequency().remove(song.getCountryId());
+        if (album == null) {
+            throw ownershipFailure(albumId);
         }
 
-        if (song.getCountryId().equals(album.getMainCountry())) {
-            album.setMainCountry("");
+        return album;
+    }
 
-            for (String countryId : album.getCountryFrequency().keySet()) {
-                if (album.getCountryFrequency().get(countryId) > album.getCountryFrequency().getOrDefault(album.getMainCountry(), 0)) {
-                    album.setMainCountry(countryId);
-                }
-            }
+    private BusinessException ownershipFailure(String albumId) {
+        if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(albumId)), Album.class)) {
+            return new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
         }
 
-        for (String tagId : song.getTags()) {
-            album.getTagFrequency().put(tagId, album.getTagFrequency().get(tagId) - 1);
-
-            if (album.getTagFrequency().get(tagId) == 0) {
-                album.getTagFrequency().remove(tagId);
-            }
-
-            if (tagId.equals(album.getMainTag())) {
-                album.setMainTag("");
+        return new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
+    }
 
-                for (String tagIdEntry : album.getTagFrequency().keySet()) {
-                    if (album.getTagFrequency().get(tagIdEntry) > album.getTagFrequency().getOrDefault(album.getMainTag(), 0)) {
-                        album.setMainTag(tagIdEntry);
-                    }
-                }
-            }
+    private void appendTracks(String albumId, List<String> songIds) {
+        try {
+            albumTrackStore.append(albumId, songIds, new Date());
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Song already exists in the album");
         }
-
-        mongoTemplate.save(album);
     }
 
     @Override
@@ -504,52 +361,25 @@ public class AlbumServiceImpl implements AlbumService {
             throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
         }
 
-        if (!album.getSongs().contains(changeOrderSongDTO.getSongId())) {
+        if (!albumTrackStore.contains(album.getId(), changeOrderSongDTO.getSongId())) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Song doesn't exist in the album");
         }
 
-        if (changeOrderSongDTO.getOrder() < 0 || changeOrderSongDTO.getOrder() >= album.getSongs().size()) {
+        if (changeOrderSongDTO.getOrder() < 0 || changeOrderSongDTO.getOrder() >= album.getSongCount()) {
             throw new BusinessException(HttpStatus.BAD_REQUEST, "Invalid order");
         }
 
-        album.getSongs().remove(changeOrderSongDTO.getSongId());
-        album.getSongs().add(changeOrderSongDTO.getOrder(), changeOrderSongDTO.getSongId());
-
-        mongoTemplate.save(album);
+        albumTrackStore.move(album.getId(), changeOrderSongDTO.getSongId(), changeOrderSongDTO.getOrder());
     }
 
     @Override
     public void openAlbum(String id) {
-        Album album = mongoTemplate.findById(id, Album.class);
-
-        if (album == null) {
-            throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
-        }
-
-        if (!album.getOwnerId().equals(AuthenticationUtils.getCurrentUser().getId())) {
-            throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
-        }
-
-        album.setStatus(Status.PUBLIC.toString());
-
-        mongoTemplate.save(album);
+        indexSuggestion(updateOwnedAlbum(id, new Update().set("status", Status.PUBLIC.toString())));
     }
 
     @Override
     public void closeAlbum(String id) {
-        Album album = mongoTemplate.findById(id, Album.class);
-
-        if (album == null) {
-            throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
-        }
-
-        if (!album.getOwnerId().equals(AuthenticationUtils.getCurrentUser().getId())) {
-            throw new BusinessException(HttpStatus.FORBIDDEN, "You are not the owner of this album");
-        }
-
-        album.setStatus(Status.PRIVATE.toString());
-
-        mongoTemplate.save(album);
+        indexSuggestion(updateOwnedAlbum(id, new Update().set("status", Status.PRIVATE.toString())));
     }
 
     @Override
@@ -562,18 +392,17 @@ public class AlbumServiceImpl implements AlbumService {
 
         User currentUser = AuthenticationUtils.getCurrentUser();
 
-        if (!currentUser.getUserPref().getFavoriteAlbums().contains(id)) {
-            currentUser.getUserPref().getFavoriteAlbums().add(id);
+        if (mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(currentUser.getId())),
+                new Update().addToSet(PreferenceUpdateUtils.FAVORITE_ALBUMS, id), User.class).getModifiedCount() > 0) {
+            trendingCharts.recordFavorite(TrendingKind.ALBUM, id);
         }
-
-        mongoTemplate.save(currentUser);
     }
 
     @Override
-    public List<AlbumDTO> getFavorites(String albumType, int limit) {
-        User currentUser = AuthenticationUtils.getCurrentUser();
+    public List<AlbumSummaryDTO> getFavorites(String albumType, int limit) {
+        UserPref userPref = loadUserPref(AuthenticationUtils.getCurrentUser().getId());
 
-        List<AlbumDTO> allAlbums = currentUser.getUserPref().getFavoriteAlbums().stream().map(albumId -> modelMapper.map(mongoTemplate.findById(albumId, Album.class), AlbumDTO.class)).toList();
+        List<AlbumSummaryDTO> allAlbums = hydrationService.toAlbumSummariesByIds(userPref.getFavoriteAlbums());
 
         if(albumType.equals(AlbumType.ARTIST_ALBUM.toString())) {
             allAlbums = allAlbums.stream().filter(album -> album.getAlbumType().equals(AlbumType.ARTIST_ALBUM.toString())).toList();
@@ -597,98 +426,69 @@ public class AlbumServiceImpl implements AlbumService {
 
         User currentUser = AuthenticationUtils.getCurrentUser();
 
-        currentUser.getUserPref().getFavoriteAlbums().remove(id);
-
-        mongoTemplate.save(currentUser);
+        if (mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(currentUser.getId())),
+                new Update().pull(PreferenceUpdateUtils.FAVORITE_ALBUMS, id), User.class).getModifiedCount() > 0) {
+            trendingCharts.recordUnfavorite(TrendingKind.ALBUM, id);
+        }
     }
 
     @Override
-    public List<AlbumDTO> searchByName(String prefix, String albumType, int limit) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("name").regex(".*" + Pattern.quote(prefix) + ".*", "i"));
-        query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
-        if (albumType.equals(AlbumType.ARTIST_ALBUM.toString())) {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.ARTIST_ALBUM.toString()));
-        } else if (albumType.equals(AlbumType.PLAYLIST.toString())) {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString()));
-        } else {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.ARTIST_ALBUM.toString()).orOperator(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString())));
-        }
+    public CursorPage<AlbumSummaryDTO> searchByName(String prefix, String albumType, String cursor, int limit) {
+        List<Album> ranked = SearchTextUtils.findRanked(mongoTemplate,
+                () -> summaryFields(publicAlbumQuery(albumType)),
+                Album.class, Album::getId, Album::getName, prefix);
 
-        if (limit <= 0) {
-            return mongoTemplate.find(query, Album.class).stream().map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
-        } else {
-            return mongoTemplate.find(query, Album.class).stream().limit(limit).map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
-        }
+        return CursorUtils.slice(ranked, cursor, limit).map(hydrationService::toAlbumSummaries);
     }
 
     @Override
-    public List<AlbumDTO> searchByArtist(String artistId, String albumType, int limit) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("ownerId").is(artistId));
-        query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
+    public CursorPage<AlbumSummaryDTO> searchByArtist(String artistId, String albumType, String cursor, int limit) {
+        return findPublicAlbums(Criteria.where("ownerId").is(artistId), albumType, cursor, limit);
+    }
 
-        if (albumType.equals(AlbumType.ARTIST_ALBUM.toString())) {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.ARTIST_ALBUM.toString()));
-        } else if (albumType.equals(AlbumType.PLAYLIST.toString())) {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString()));
-        } else {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.ARTIST_ALBUM.toString()).orOperator(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString())));
-        }
+    @Override
+    public CursorPage<AlbumSummaryDTO> searchByCategory(String categoryId, String albumType, String cursor, int limit) {
+        return findPublicAlbums(Criteria.where("mainCategory").is(categoryId), albumType, cursor, limit);
+    }
 
-        if (limit <= 0) {
-            return mongoTemplate.find(query, Album.class).stream().map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
-        } else {
-            return mongoTemplate.find(query, Album.class).stream().limit(limit).map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
-        }
+    @Override
+    public CursorPage<AlbumSummaryDTO> searchByCountry(String countryId, String albumType, String cursor, int limit) {
+        return findPublicAlbums(Criteria.where("mainCountry").is(countryId), albumType, cursor, limit);
     }
 
     @Override
-    public List<AlbumDTO> searchByCategory(String categoryId, String albumType, int limit) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("mainCategory").is(categoryId));
-        query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
+    public CursorPage<AlbumSummaryDTO> searchByTag(List<String> tags, String albumType, String cursor, int limit) {
+        return findPublicAlbums(Criteria.where("mainTag").in(tags), albumType, cursor, limit);
+    }
 
-        if (albumType.equals(AlbumType.ARTIST_ALBUM.toString())) {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.ARTIST_ALBUM.toString()));
-        } else if (albumType.equals(AlbumType.PLAYLIST.toString())) {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString()));
-        } else {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.ARTIST_ALBUM.toString()).orOperator(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString())));
-        }
+    private UserPref loadUserPref(String userId) {
+        return userRepository.findUserPrefById(userId).map(User::getUserPref).orElseGet(UserPref::new);
+    }
 
-        if (limit <= 0) {
-            return mongoTemplate.find(query, Album.class).stream().map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
+    private void indexSuggestion(Album album) {
+        if (Status.PUBLIC.toString().equals(album.getStatus())) {
+            suggestService.upsert(SuggestionKind.ALBUM, album.getId(), album.getName());
         } else {
-            return mongoTemplate.find(query, Album.class).stream().limit(limit).map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
+            suggestService.remove(SuggestionKind.ALBUM, album.getId());
         }
     }
 
-    @Override
-    public List<AlbumDTO> searchByCountry(String countryId, String albumType, int limit) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("mainCountry").is(countryId));
-        query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
+    private CursorPage<AlbumSummaryDTO> findPublicAlbums(Criteria criteria, String albumType, String cursor, int limit) {
+        return CursorUtils.findPage(mongoTemplate, summaryFields(publicAlbumQuery(criteria, albumType)), Album.class, Album::getId, cursor, limit)
+                .map(hydrationService::toAlbumSummaries);
+    }
 
-        if (albumType.equals(AlbumType.ARTIST_ALBUM.toString())) {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.ARTIST_ALBUM.toString()));
-        } else if (albumType.equals(AlbumType.PLAYLIST.toString())) {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString()));
-        } else {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.ARTIST_ALBUM.toString()).orOperator(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString())));
-        }
+    private static Query summaryFields(Query query) {
+        query.fields().include(AlbumSummaryDTO.FIELDS);
+        return query;
+    }
 
-        if (limit <= 0) {
-            return mongoTemplate.find(query, Album.class).stream().map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
-        } else {
-            return mongoTemplate.find(query, Album.class).stream().limit(limit).map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
-        }
+    private static Query publicAlbumQuery(Criteria criteria, String albumType) {
+        return publicAlbumQuery(albumType).addCriteria(criteria);
     }
 
-    @Override
-    public List<AlbumDTO> searchByTag(List<String> tags, String albumType, int limit) {
+    private static Query publicAlbumQuery(String albumType) {
         Query query = new Query();
-        query.addCriteria(Criteria.where("mainTag").in(tags));
         query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
 
         if (albumType.equals(AlbumType.ARTIST_ALBUM.toString())) {
@@ -696,58 +496,21 @@ public class AlbumServiceImpl implements AlbumService {
         } else if (albumType.equals(AlbumType.PLAYLIST.toString())) {
             query.addCriteria(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString()));
         } else {
-            query.addCriteria(Criteria.where("albumType").is(AlbumType.ARTIST_ALBUM.toString()).orOperator(Criteria.where("albumType").is(AlbumType.PLAYLIST.toString())));
+            query.addCriteria(Criteria.where("albumType").in(AlbumType.ARTIST_ALBUM.toString(), AlbumType.PLAYLIST.toString()));
         }
 
-        if (limit <= 0) {
-            return mongoTemplate.find(query, Album.class).stream().map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
-        } else {
-            return mongoTemplate.find(query, Album.class).stream().limit(limit).map(album -> modelMapper.map(album, AlbumDTO.class)).toList();
-        }
+        return query;
     }
 
     @Override
-    public List<AlbumDTO> getAlbumRecommendations(int limit) {
-        User currentUser = AuthenticationUtils.getCurrentUser();
-
-        List<String> topTags = currentUser.getUserPref().getTagFrequency().entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(2)
-                .map(Map.Entry::getKey)
-                .toList();
-
-        List<String> topCategories = currentUser.getUserPref().getCategoryFrequency().entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(2)
-                .map(Map.Entry::getKey)
-                .toList();
-
-        List<String> topCountries = currentUser.getUserPref().getCountryFrequency().entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(2)
-                .map(Map.Entry::getKey)
-                .toList();
-
-        Set<AlbumDTO> rawRecommendations = new HashSet<>();
-
-        rawRecommendations.addAll(searchByTag(topTags, AlbumType.NONE.toString(), 0));
-        for (String categoryId : topCategories) {
-            rawRecommendations.addAll(searchByCategory(categoryId, AlbumType.NONE.toString(), 0));
-        }
-        for (String countryId : topCountries) {
-            rawRecommendations.addAll(searchByCountry(countryId, AlbumType.NONE.toString(), 0));
-        }
-
-        if (rawRecommendations.size() < 10) {
-            rawRecommendations.addAll(searchByCategory(categoryRepository.findByName("Pop").getId(), AlbumType.NONE.toString(), 0));
-        }
+    public List<AlbumSummaryDTO> getAlbumRecommendations(int limit) {
+        UserPref userPref = loadUserPref(AuthenticationUtils.getCurrentUser().getId());
 
-        rawRecommendations.removeIf(albumDTO -> albumDTO.getStatus().equals(Status.PRIVATE.toString()));
+        return hydrationService.toAlbumSummariesByIds(recommendationEngine.recommendAlbumIds(userPref, CursorUtils.pageSize(limit)));
+    }
 
-        if (limit <= 0) {
-            return rawRecommendations.stream().toList();
-        } else {
-            return rawRecommendations.stream().limit(limit).toList();
-        }
+    @Override
+    public List<AlbumSummaryDTO> getTrending(String window, String categoryId, String countryId, String tagId, int limit) {
+        return hydrationService.toPublicAlbumSummariesByIds(trendingCharts.top(TrendingKind.ALBUM, window, categoryId, countryId, tagId, limit));
     }
 }
@@ -1,21 +1,32 @@
 package com.eternify.backend.song.service.implementation;
 
 import com.eternify.backend.common.exception.BusinessException;
+import com.eternify.backend.song.cache.ReferenceDataCache;
 import com.eternify.backend.song.model.Category;
 import com.eternify.backend.song.repository.CategoryRepository;
 import com.eternify.backend.song.service.CategoryService;
+import com.eternify.backend.song.service.RecommendationFeedService;
 import com.eternify.backend.user.model.User;
 import com.eternify.backend.util.AuthenticationUtils;
+import com.eternify.backend.util.PreferenceUpdateUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final MongoTemplate mongoTemplate;
+    private final RecommendationFeedService recommendationFeedService;
 
     @Override
     public void addCategory(String name) {
@@ -30,6 +41,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .build();
 
         categoryRepository.save(category);
+        referenceDataCache.refresh();
     }
 
     @Override
@@ -41,11 +53,16 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryRepository.delete(category);
+        referenceDataCache.refresh();
     }
 
     @Override
     public Category getCategoryById(String id) {
-        Category category = categoryRepository.findById(id).orElse(null);
+        Category category = referenceDataCache.getCategory(id);
+
+        if(category == null) {
+            category = categoryRepository.findById(id).orElse(null);
+        }
 
         if(category == null) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Category doesn't exist");
@@ -56,7 +73,11 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public Category getCategoryByName(String name) {
-        Category category = categoryRepository.findByName(name);
+        Category category = referenceDataCache.getCategoryByName(name);
+
+        if(category == null) {
+            category = categoryRepository.findByName(name);
+        }
 
         if(category == null) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Category doesn't exist");
@@ -69,13 +90,22 @@ public class CategoryServiceImpl implements CategoryService {
     public void addFavouriteCategory(List<String> categoryIds) {
         User currentUser = AuthenticationUtils.getCurrentUser();
 
-        for(String categoryId : categoryIds) {
-            currentUser.getUserPref().getCategoryFrequency().put(categoryId, currentUser.getUserPref().getCategoryFrequency().getOrDefault(categoryId, 0) + 10);
+        if(categoryIds.isEmpty()) {
+            return;
         }
+
+        Update update = new Update();
+
+        for(String categoryId : new LinkedHashSet<>(categoryIds)) {
+            update.inc(PreferenceUpdateUtils.CATEGORY_FREQUENCY + "." + categoryId, 10);
+        }
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(currentUser.getId())), update, User.class);
+        recommendationFeedService.markDirty(currentUser.getId());
     }
 
     @Override
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return referenceDataCache.getAllCategories();
     }
 }
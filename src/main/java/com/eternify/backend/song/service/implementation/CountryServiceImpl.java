@@ -1,21 +1,32 @@
 package com.eternify.backend.song.service.implementation;
 
 import com.eternify.backend.common.exception.BusinessException;
+import com.eternify.backend.song.cache.ReferenceDataCache;
 import com.eternify.backend.song.model.Country;
 import com.eternify.backend.song.repository.CountryRepository;
 import com.eternify.backend.song.service.CountryService;
+import com.eternify.backend.song.service.RecommendationFeedService;
 import com.eternify.backend.user.model.User;
 import com.eternify.backend.util.AuthenticationUtils;
+import com.eternify.backend.util.PreferenceUpdateUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class CountryServiceImpl implements CountryService {
     private final CountryRepository countryRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final MongoTemplate mongoTemplate;
+    private final RecommendationFeedService recommendationFeedService;
 
     @Override
     public void addCountry(String name) {
@@ -30,6 +41,7 @@ public class CountryServiceImpl implements CountryService {
                 .build();
 
         countryRepository.save(country);
+        referenceDataCache.refresh();
     }
 
     @Override
@@ -41,11 +53,16 @@ public class CountryServiceImpl implements CountryService {
         }
 
         countryRepository.delete(country);
+        referenceDataCache.refresh();
     }
 
     @Override
     public Country getCountryById(String id) {
-        Country country = countryRepository.findById(id).orElse(null);
+        Country country = referenceDataCache.getCountry(id);
+
+        if(country == null) {
+            country = countryRepository.findById(id).orElse(null);
+        }
 
         if(country == null) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Country doesn't exist");
@@ -56,7 +73,11 @@ public class CountryServiceImpl implements CountryService {
 
     @Override
     public Country getCountryByName(String name) {
-        Country country = countryRepository.findByName(name);
+        Country country = referenceDataCache.getCountryByName(name);
+
+        if(country == null) {
+            country = countryRepository.findByName(name);
+        }
 
         if(country == null) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Country doesn't exist");
@@ -69,13 +90,22 @@ public class CountryServiceImpl implements CountryService {
     public void addFavouriteCountry(List<String> countryIds) {
         User currentUser = AuthenticationUtils.getCurrentUser();
 
-        for(String countryId : countryIds) {
-            currentUser.getUserPref().getCountryFrequency().put(countryId, currentUser.getUserPref().getCountryFrequency().getOrDefault(countryId, 0) + 10);
+        if(countryIds.isEmpty()) {
+            return;
         }
+
+        Update update = new Update();
+
+        for(String countryId : new LinkedHashSet<>(countryIds)) {
+            update.inc(PreferenceUpdateUtils.COUNTRY_FREQUENCY + "." + countryId, 10);
+        }
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(currentUser.getId())), update, User.class);
+        recommendationFeedService.markDirty(currentUser.getId());
     }
 
     @Override
     public List<Country> getAllCountries() {
-        return countryRepository.findAll();
+        return referenceDataCache.getAllCountries();
     }
 }
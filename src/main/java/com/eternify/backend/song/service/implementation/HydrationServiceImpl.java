@@ -0,0 +1,253 @@
+package com.eternify.backend.song.service.implementation;
+
+import com.eternify.backend.common.api.CursorPage;
+import com.eternify.backend.song.cache.ReferenceDataCache;
+import com.eternify.backend.song.dto.AlbumDTO;
+import com.eternify.backend.song.dto.AlbumSummaryDTO;
+import com.eternify.backend.song.dto.SongAlbumDTO;
+import com.eternify.backend.song.dto.SongDTO;
+import com.eternify.backend.song.model.Album;
+import com.eternify.backend.song.model.AlbumTrack;
+import com.eternify.backend.song.model.Song;
+import com.eternify.backend.song.model.Status;
+import com.eternify.backend.song.service.HydrationService;
+import com.eternify.backend.user.dto.ArtistSummary;
+import com.eternify.backend.user.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds song and album DTOs for whole result lists at once. Every referenced artist id is
+ * collected first and resolved with a single field-projected {@code $in} query into
+ * {@link ArtistSummary} objects, while categories, countries and tags come from the
+ * {@link ReferenceDataCache} snapshot, so the number of round trips does not depend on the size of
+ * the list. Album summaries skip the songs entirely.
+ */
+@Service
+@RequiredArgsConstructor
+public class HydrationServiceImpl implements HydrationService {
+    private final MongoTemplate mongoTemplate;
+    private final ReferenceDataCache referenceDataCache;
+
+    @Override
+    public List<SongDTO> toSongDTOs(List<Song> songs) {
+        List<Song> present = songs.stream().filter(Objects::nonNull).toList();
+
+        if (present.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, ArtistSummary> artists = loadArtists(present, Set.of());
+
+        return present.stream().map(song -> buildSongDTO(song, artists)).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<SongDTO> toSongDTOsByIds(List<String> songIds) {
+        return toSongDTOs(findSongsInOrder(songIds, null));
+    }
+
+    /**
+     * Like {@link #toSongDTOsByIds} but drops songs that are no longer public, for id lists that were
+     * materialised earlier (recommendation feeds, charts) and may be older than a status change.
+     */
+    @Override
+    public List<SongDTO> toPublicSongDTOsByIds(List<String> songIds) {
+        List<Song> songs = findSongsInOrder(songIds, Criteria.where("status").is(Status.PUBLIC.toString()));
+
+        return toSongDTOs(songs);
+    }
+
+    @Override
+    public SongDTO toSongDTO(Song song) {
+        return toSongDTOs(Collections.singletonList(song)).stream().findFirst().orElse(null);
+    }
+
+    @Override
+    public List<SongAlbumDTO> toSongAlbumDTOs(List<AlbumTrack> tracks) {
+        Map<String, Song> songs = findByIds(tracks.stream().map(AlbumTrack::getSongId).toList(), Song.class, Song::getId);
+        Map<String, ArtistSummary> artists = loadArtists(songs.values(), Set.of());
+
+        return tracks.stream()
+                .filter(track -> songs.containsKey(track.getSongId()))
+                .map(track -> buildSongAlbumDTO(songs.get(track.getSongId()), track.getAdditionTime(), artists))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public AlbumDTO toAlbumDTO(Album album, CursorPage<AlbumTrack> tracks) {
+        Map<String, Song> songs = findByIds(tracks.getItems().stream().map(AlbumTrack::getSongId).toList(), Song.class, Song::getId);
+        Map<String, ArtistSummary> artists = loadArtists(songs.values(), album.getOwnerId() == null ? Set.of() : Set.of(album.getOwnerId()));
+
+        List<SongAlbumDTO> songAlbumDTOs = tracks.getItems().stream()
+                .filter(track -> songs.containsKey(track.getSongId()))
+                .map(track -> buildSongAlbumDTO(songs.get(track.getSongId()), track.getAdditionTime(), artists))
+                .collect(Collectors.toList());
+
+        return AlbumDTO.builder()
+                .id(album.getId())
+                .name(album.getName())
+                .description(album.getDescription())
+                .owner(artists.get(album.getOwnerId()))
+                .songs(songAlbumDTOs)
+                .tracksCursor(tracks.getNextCursor())
+                .songCount(album.getSongCount())
+                .totalLength(album.getTotalLength())
+                .persistentCoverId(album.getPersistentCoverId())
+                .status(album.getStatus())
+                .albumType(album.getAlbumType())
+                .createdDate(album.getCreatedDate())
+                .modifiedDate(album.getModifiedDate())
+                .build();
+    }
+
+    @Override
+    public List<AlbumSummaryDTO> toAlbumSummaries(List<Album> albums) {
+        List<Album> present = albums.stream().filter(Objects::nonNull).toList();
+
+        if (present.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> ownerIds = present.stream().map(Album::getOwnerId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, ArtistSummary> owners = loadArtists(List.of(), ownerIds);
+
+        return present.stream().map(album -> AlbumSummaryDTO.builder()
+                .id(album.getId())
+                .name(album.getName())
+                .owner(owners.get(album.getOwnerId()))
+                .persistentCoverId(album.getPersistentCoverId())
+                .status(album.getStatus())
+                .albumType(album.getAlbumType())
+                .songCount(album.getSongCount())
+                .totalLength(album.getTotalLength())
+                .mainCategory(referenceDataCache.getCategory(album.getMainCategory()))
+                .mainCountry(referenceDataCache.getCountry(album.getMainCountry()))
+                .mainTag(referenceDataCache.getTag(album.getMainTag()))
+                .createdDate(album.getCreatedDate())
+                .modifiedDate(album.getModifiedDate())
+                .build()).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<AlbumSummaryDTO> toAlbumSummariesByIds(List<String> albumIds) {
+        return findAlbumSummariesInOrder(albumIds, null);
+    }
+
+    /**
+     * Like {@link #toAlbumSummariesByIds} but drops albums that are no longer public, for charts
+     * whose ids may be older than a status change.
+     */
+    @Override
+    public List<AlbumSummaryDTO> toPublicAlbumSummariesByIds(List<String> albumIds) {
+        return findAlbumSummariesInOrder(albumIds, Criteria.where("status").is(Status.PUBLIC.toString()));
+    }
+
+    private List<AlbumSummaryDTO> findAlbumSummariesInOrder(List<String> albumIds, Criteria filter) {
+        List<String> distinctIds = albumIds.stream().filter(Objects::nonNull).distinct().toList();
+
+        if (distinctIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Query query = new Query(Criteria.where("_id").in(distinctIds));
+
+        if (filter != null) {
+            query.addCriteria(filter);
+        }
+
+        query.fields().include(AlbumSummaryDTO.FIELDS);
+
+        Map<String, Album> albums = mongoTemplate.find(query, Album.class).stream()
+                .collect(Collectors.toMap(Album::getId, Function.identity(), (a, b) -> a));
+
+        return toAlbumSummaries(albumIds.stream().map(albums::get).filter(Objects::nonNull).toList());
+    }
+
+    private List<Song> findSongsInOrder(List<String> songIds, Criteria filter) {
+        Map<String, Song> songs = findByIds(songIds, Song.class, Song::getId, filter);
+
+        return songIds.stream().map(songs::get).filter(Objects::nonNull).toList();
+    }
+
+    private Map<String, ArtistSummary> loadArtists(Collection<Song> songs, Set<String> extraUserIds) {
+        Set<String> userIds = new HashSet<>(extraUserIds);
+
+        for (Song song : songs) {
+            userIds.add(song.getArtistId());
+        }
+
+        userIds.remove(null);
+
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Query query = new Query(Criteria.where("_id").in(userIds));
+        query.fields().include(ArtistSummary.FIELDS);
+
+        return mongoTemplate.find(query, User.class).stream()
+                .collect(Collectors.toMap(User::getId, ArtistSummary::of, (a, b) -> a));
+    }
+
+    private <T> Map<String, T> findByIds(Collection<String> ids, Class<T> type, Function<T, String> idGetter) {
+        return findByIds(ids, type, idGetter, null);
+    }
+
+    private <T> Map<String, T> findByIds(Collection<String> ids, Class<T> type, Function<T, String> idGetter, Criteria filter) {
+        List<String> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+
+        if (distinctIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Query query = new Query(Criteria.where("_id").in(distinctIds));
+
+        if (filter != null) {
+            query.addCriteria(filter);
+        }
+
+        return mongoTemplate.find(query, type).stream()
+                .collect(Collectors.toMap(idGetter, Function.identity(), (a, b) -> a));
+    }
+
+    private SongDTO buildSongDTO(Song song, Map<String, ArtistSummary> artists) {
+        return SongDTO.builder()
+                .id(song.getId())
+                .title(song.getTitle())
+                .artist(artists.get(song.getArtistId()))
+                .persistentSongId(song.getPersistentSongId())
+                .category(referenceDataCache.getCategory(song.getCategoryId()))
+                .country(referenceDataCache.getCountry(song.getCountryId()))
+                .tags(song.getTags().stream().map(referenceDataCache::getTag).toList())
+                .persistentCoverId(song.getPersistentCoverId())
+                .length(song.getLength())
+                .status(song.getStatus())
+                .createdDate(song.getCreatedDate())
+                .modifiedDate(song.getModifiedDate())
+                .build();
+    }
+
+    private SongAlbumDTO buildSongAlbumDTO(Song song, Date additionTime, Map<String, ArtistSummary> artists) {
+        return SongAlbumDTO.builder()
+                .id(song.getId())
+                .title(song.getTitle())
+                .artist(artists.get(song.getArtistId()))
+                .persistentSongId(song.getPersistentSongId())
+                .category(referenceDataCache.getCategory(song.getCategoryId()))
+                .country(referenceDataCache.getCountry(song.getCountryId()))
+                .length(song.getLength())
+                .tags(song.getTags().stream().map(referenceDataCache::getTag).toList())
+                .persistentCoverId(song.getPersistentCoverId())
+                .status(song.getStatus())
+                .additionTime(additionTime)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.eternify.backend.song.service.implementation;
+
+import com.eternify.backend.song.dto.ListenStatsDTO;
+import com.eternify.backend.song.listen.ListenAggregator;
+import com.eternify.backend.song.model.ListenEvent;
+import com.eternify.backend.song.service.ListenEventService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind log of listens. {@link #record} only enqueues the event; a background writer drains
+ * the queue into batched {@code insertMany} calls on {@code listen_event}, and the
+ * {@link ListenAggregator} later folds persisted events into preferences and play counts. When the
+ * queue is full the caller waits briefly and then inserts its own event, so a burst slows callers
+ * down instead of dropping listens. Remaining events are flushed on shutdown.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ListenEventServiceImpl implements ListenEventService {
+    private static final long OFFER_TIMEOUT_MS = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final ListenAggregator listenAggregator;
+
+    @Value("${listen.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${listen.batch-size}")
+    private int batchSize;
+
+    @Value("${listen.flush-interval-ms}")
+    private long flushIntervalMs;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final long startedAt = System.currentTimeMillis();
+
+    private final List<ListenEvent> pending = new ArrayList<>();
+    private BlockingQueue<ListenEvent> queue;
+
+    @PostConstruct
+    private void initWriter() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        writer.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void record(String userId, String songId) {
+        ListenEvent event = ListenEvent.builder()
+                .userId(userId)
+                .songId(songId)
+                .listenedAt(new Date())
+                .build();
+
+        accepted.incrementAndGet();
+
+        try {
+            if (queue.offer(event, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        callerRuns.incrementAndGet();
+        mongoTemplate.insert(event);
+        persisted.incrementAndGet();
+    }
+
+    @Override
+    public ListenStatsDTO getStats() {
+        double seconds = Math.max(1, (System.currentTimeMillis() - startedAt) / 1000.0);
+
+        return ListenStatsDTO.builder()
+                .accepted(accepted.get())
+                .persisted(persisted.get())
+                .callerRuns(callerRuns.get())
+                .aggregated(listenAggregator.getAggregated())
+                .queued(queue.size())
+                .persistedPerSecond(persisted.get() / seconds)
+                .build();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Error writing listen events: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs on the writer thread only. A batch that fails to insert stays in {@link #pending} and is
+     * retried before anything newer.
+     */
+    private void flush() {
+        while (!pending.isEmpty() || queue.drainTo(pending, batchSize) > 0) {
+            mongoTemplate.insertAll(pending);
+            persisted.addAndGet(pending.size());
+            pending.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdownWriter() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        flushSafely();
+        log.info("Listen events: {} accepted, {} persisted, {} written by callers, {} left unflushed",
+                accepted.get(), persisted.get(), callerRuns.get(), queue.size() + pending.size());
+    }
+}
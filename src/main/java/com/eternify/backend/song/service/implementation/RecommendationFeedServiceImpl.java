@@ -0,0 +1,160 @@
+package com.eternify.backend.song.service.implementation;
+
+import com.eternify.backend.song.model.ListenHistory;
+import com.eternify.backend.song.model.UserPref;
+import com.eternify.backend.song.model.UserRecommendation;
+import com.eternify.backend.song.recommendation.RecommendationEngine;
+import com.eternify.backend.song.service.RecommendationFeedService;
+import com.eternify.backend.user.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves recommendation feeds from the {@code user_recommendations} collection so the endpoint is a
+ * single keyed read. Feeds are recomputed in the background: users whose preferences changed are
+ * queued by {@link #markDirty} and drained on a short schedule, and a sweep recomputes feeds older
+ * than the staleness bound for users who listened to something recently. Stale feeds of inactive
+ * users are dropped instead; like any user without a feed, they get one computed inline on their
+ * next request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationFeedServiceImpl implements RecommendationFeedService {
+    private final MongoTemplate mongoTemplate;
+    private final RecommendationEngine recommendationEngine;
+
+    @Value("${recommendation.feed-size}")
+    private int feedSize;
+
+    @Value("${recommendation.max-staleness-ms}")
+    private long maxStalenessMs;
+
+    @Value("${recommendation.sweep-batch-size}")
+    private int sweepBatchSize;
+
+    @Value("${recommendation.active-window-ms}")
+    private long activeWindowMs;
+
+    private final Set<String> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public List<String> getSongIds(String userId, int limit) {
+        UserRecommendation feed = mongoTemplate.findById(userId, UserRecommendation.class);
+
+        if (feed == null) {
+            feed = compute(userId);
+        } else if (isStale(feed)) {
+            markDirty(userId);
+        }
+
+        List<String> songIds = feed.getSongIds();
+
+        return new ArrayList<>(limit <= 0 ? songIds : songIds.subList(0, Math.min(limit, songIds.size())));
+    }
+
+    @Override
+    public void markDirty(String userId) {
+        dirtyUsers.add(userId);
+    }
+
+    @Override
+    public void recompute(String userId) {
+        dirtyUsers.remove(userId);
+        compute(userId);
+    }
+
+    @Override
+    public long invalidateAll() {
+        return mongoTemplate.updateMulti(new Query(), new Update().set("computedAt", new Date(0)), UserRecommendation.class)
+                .getModifiedCount();
+    }
+
+    @Scheduled(fixedDelayString = "${recommendation.refresh-interval-ms}")
+    public void drainDirtyUsers() {
+        for (String userId : new ArrayList<>(dirtyUsers)) {
+            dirtyUsers.remove(userId);
+
+            try {
+                compute(userId);
+            } catch (Exception e) {
+                log.error("Error recomputing recommendations for {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recommendation.refresh-interval-ms}")
+    public void sweepStaleFeeds() {
+        Query query = new Query(Criteria.where("computedAt").lt(new Date(System.currentTimeMillis() - maxStalenessMs)));
+        query.with(Sort.by(Sort.Direction.ASC, "computedAt")).limit(sweepBatchSize);
+        query.fields().include("_id");
+
+        List<String> staleUserIds = mongoTemplate.find(query, UserRecommendation.class).stream()
+                .map(UserRecommendation::getUserId)
+                .toList();
+
+        if (staleUserIds.isEmpty()) {
+            return;
+        }
+
+        Set<String> activeUserIds = findActiveUsers(staleUserIds);
+        List<String> inactiveUserIds = staleUserIds.stream().filter(userId -> !activeUserIds.contains(userId)).toList();
+
+        if (!inactiveUserIds.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(inactiveUserIds)), UserRecommendation.class);
+        }
+
+        for (String userId : activeUserIds) {
+            try {
+                compute(userId);
+            } catch (Exception e) {
+                log.error("Error recomputing recommendations for {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    private Set<String> findActiveUsers(List<String> userIds) {
+        Query query = new Query(Criteria.where("userId").in(userIds)
+                .and("listenedAt").gte(new Date(System.currentTimeMillis() - activeWindowMs)));
+
+        return new HashSet<>(mongoTemplate.findDistinct(query, "userId", ListenHistory.class, String.class));
+    }
+
+    private UserRecommendation compute(String userId) {
+        Query query = new Query(Criteria.where("_id").is(userId));
+        query.fields()
+                .include("userPref.tagFrequency")
+                .include("userPref.categoryFrequency")
+                .include("userPref.countryFrequency");
+
+        User user = mongoTemplate.findOne(query, User.class);
+        UserPref userPref = user == null || user.getUserPref() == null ? new UserPref() : user.getUserPref();
+
+        UserRecommendation feed = UserRecommendation.builder()
+                .userId(userId)
+                .songIds(recommendationEngine.recommendSongIds(userPref, feedSize))
+                .computedAt(new Date())
+                .build();
+
+        return mongoTemplate.save(feed);
+    }
+
+    private boolean isStale(UserRecommendation feed) {
+        return feed.getComputedAt() == null || feed.getComputedAt().getTime() < System.currentTimeMillis() - maxStalenessMs;
+    }
+}
@@ -1,66 +1,59 @@
 package com.eternify.backend.song.service.implementation;
 
+import com.eternify.backend.common.api.CursorPage;
 import com.eternify.backend.common.exception.BusinessException;
 import com.eternify.backend.song.dto.SongAddDTO;
 import com.eternify.backend.song.dto.SongDTO;
 import com.eternify.backend.song.dto.SongEditDTO;
 import com.eternify.backend.song.model.Album;
 import com.eternify.backend.song.model.Song;
+import com.eternify.backend.song.model.SongTombstone;
 import com.eternify.backend.song.model.Status;
-import com.eternify.backend.song.repository.CategoryRepository;
-import com.eternify.backend.song.repository.CountryRepository;
-import com.eternify.backend.song.repository.TagRepository;
+import com.eternify.backend.song.model.UserPref;
+import com.eternify.backend.song.listen.ListenHistoryStore;
+import com.eternify.backend.song.recommendation.RecommendationEngine;
+import com.eternify.backend.song.service.HydrationService;
+import com.eternify.backend.song.service.ListenEventService;
+import com.eternify.backend.song.service.RecommendationFeedService;
 import com.eternify.backend.song.service.SongService;
-import com.eternify.backend.user.repository.UserRepository;
+import com.eternify.backend.song.trending.HotSongs;
+import com.eternify.backend.song.trending.TrendingCharts;
+import com.eternify.backend.song.trending.TrendingKind;
+import com.eternify.backend.suggest.model.SuggestionKind;
+import com.eternify.backend.suggest.service.SuggestService;
 import com.eternify.backend.user.model.Role;
 import com.eternify.backend.user.model.User;
+import com.eternify.backend.user.repository.UserRepository;
 import com.eternify.backend.util.AuthenticationUtils;
-import jakarta.annotation.PostConstruct;
+import com.eternify.backend.util.CursorUtils;
+import com.eternify.backend.util.PreferenceUpdateUtils;
+import com.eternify.backend.util.SearchTextUtils;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class SongServiceImpl implements SongService {
+    private static final int RECOMMENDATION_CANDIDATE_LIMIT = 200;
+
     private final MongoTemplate mongoTemplate;
+    private final HydrationService hydrationService;
+    private final SuggestService suggestService;
+    private final RecommendationFeedService recommendationFeedService;
+    private final RecommendationEngine recommendationEngine;
+    private final ListenEventService listenEventService;
+    private final ListenHistoryStore listenHistoryStore;
     private final UserRepository userRepository;
-    private final TagRepository tagRepository;
-    private final CategoryRepository categoryRepository;
-    private final CountryRepository countryRepository;
-    private ModelMapper modelMapper;
-
-    @PostConstruct
-    private void setupModelMapper() {
-        modelMapper = new ModelMapper();
-
-        modelMapper.createTypeMap(Song.class, SongDTO.class)
-                .setConverter(context -> {
-                   Song source = context.getSource();
-
-                   return SongDTO.builder()
-                           .id(source.getId())
-                           .title(source.getTitle())
-                           .artist(userRepository.findById(source.getArtistId()).orElse(null))
-                           .persistentSongId(source.getPersistentSongId())
-                           .category(categoryRepository.findById(source.getCategoryId()).orElse(null))
-                           .country(countryRepository.findById(source.getCountryId()).orElse(null))
-                           .tags(source.getTags().stream().map(tagId -> tagRepository.findById(tagId).orElse(null)).toList())
-                           .persistentCoverId(source.getPersistentCoverId())
-                           .length(source.getLength())
-                           .status(source.getStatus())
-                           .createdDate(source.getCreatedDate())
-                           .modifiedDate(source.getModifiedDate())
-                           .build();
-                });
-    }
+    private final TrendingCharts trendingCharts;
+    private final HotSongs hotSongs;
 
     @Override
     public void addSong(SongAddDTO songAddDTO) {
@@ -78,9 +71,13 @@ public class SongServiceImpl implements SongService {
                 .length(songAddDTO.getLength())
                 .persistentCoverId(songAddDTO.getPersistentCoverId())
                 .status(songAddDTO.getStatus().equals(Status.PUBLIC.toString()) ? Status.PUBLIC.toString() : Status.PRIVATE.toString())
+                .searchPrefixes(SearchTextUtils.prefixes(songAddDTO.getTitle()))
+                .searchTrigrams(SearchTextUtils.trigrams(songAddDTO.getTitle()))
+                .searchLeading(SearchTextUtils.leadingPrefixes(songAddDTO.getTitle()))
+                .searchLength(SearchTextUtils.searchLength(songAddDTO.getTitle()))
                 .build();
 
-        mongoTemplate.save(song);
+        indexSuggestion(mongoTemplate.save(song));
     }
 
     @Override
@@ -96,6 +93,10 @@ public class SongServiceImpl implements SongService {
         }
 
         song.setTitle(songEditDTO.getTitle());
+        song.setSearchPrefixes(SearchTextUtils.prefixes(songEditDTO.getTitle()));
+        song.setSearchTrigrams(SearchTextUtils.trigrams(songEditDTO.getTitle()));
+        song.setSearchLeading(SearchTextUtils.leadingPrefixes(songEditDTO.getTitle()));
+        song.setSearchLength(SearchTextUtils.searchLength(songEditDTO.getTitle()));
         song.setPersistentCoverId(songEditDTO.getPersistentCoverId());
         song.setStatus(songEditDTO.getStatus().equals(Status.PUBLIC.toString()) ? Status.PUBLIC.toString() : Status.PRIVATE.toString());
         song.setCategoryId(songEditDTO.getCategoryId());
@@ -103,7 +104,7 @@ public class SongServiceImpl implements SongService {
         song.setCountryId(songEditDTO.getCountryId());
         song.setTags(songEditDTO.getTags());
 
-        mongoTemplate.save(song);
+        indexSuggestion(mongoTemplate.save(song));
     }
 
     @Override
@@ -118,7 +119,9 @@ public class SongServiceImpl implements SongService {
             throw new BusinessException(HttpStatus.BAD_REQUEST, "You are not allowed to delete this song");
         }
 
+        mongoTemplate.save(SongTombstone.of(song));
         mongoTemplate.remove(song);
+        suggestService.remove(SuggestionKind.SONG, song.getId());
     }
 
     @Override
@@ -133,7 +136,7 @@ public class SongServiceImpl implements SongService {
             throw new BusinessException(HttpStatus.BAD_REQUEST, "You are not allowed to view this song");
         }
 
-        return modelMapper.map(song, SongDTO.class);
+        return hydrationService.toSongDTO(song);
     }
 
     @Override
@@ -150,7 +153,7 @@ public class SongServiceImpl implements SongService {
 
         song.setStatus(Status.PUBLIC.toString());
 
-        mongoTemplate.save(song);
+        indexSuggestion(mongoTemplate.save(song));
     }
 
     @Override
@@ -167,7 +170,7 @@ public class SongServiceImpl implements SongService {
 
         song.setStatus(Status.PRIVATE.toString());
 
-        mongoTemplate.save(song);
+        indexSuggestion(mongoTemplate.save(song));
     }
 
     @Override
@@ -180,17 +183,13 @@ public class SongServiceImpl implements SongService {
 
         User currentUser = AuthenticationUtils.getCurrentUser();
 
-        currentUser.getUserPref().getFavoriteSongs().remove(songId);
-        currentUser.getUserPref().getFavoriteSongs().add(songId);
+        Query query = new Query(Criteria.where("_id").is(currentUser.getId()).and(PreferenceUpdateUtils.FAVORITE_SONGS).ne(songId));
+        Update update = PreferenceUpdateUtils.frequencyIncrements(List.of(song), 10).push(PreferenceUpdateUtils.FAVORITE_SONGS, songId);
 
-        for(String tagId : song.getTags()) {
-            currentUser.getUserPref().getTagFrequency().put(tagId, currentUser.getUserPref().getTagFrequency().getOrDefault(tagId, 0) + 10);
+        if(mongoTemplate.updateFirst(query, update, User.class).getModifiedCount() > 0) {
+            recommendationFeedService.markDirty(currentUser.getId());
+            trendingCharts.recordFavorite(TrendingKind.SONG, songId);
         }
-
-        currentUser.getUserPref().getCategoryFrequency().put(song.getCategoryId(), currentUser.getUserPref().getCategoryFrequency().getOrDefault(song.getCategoryId(), 0) + 10);
-        currentUser.getUserPref().getCountryFrequency().put(song.getCountryId(), currentUser.getUserPref().getCountryFrequency().getOrDefault(song.getCountryId(), 0) + 10);
-
-        mongoTemplate.save(AuthenticationUtils.getCurrentUser());
     }
 
     @Override
@@ -203,163 +202,100 @@ public class SongServiceImpl implements SongService {
 
         User currentUser = AuthenticationUtils.getCurrentUser();
 
-        if(!currentUser.getUserPref().getFavoriteSongs().contains(songId)) {
+        Query query = new Query(Criteria.where("_id").is(currentUser.getId()).and(PreferenceUpdateUtils.FAVORITE_SONGS).is(songId));
+        Update update = PreferenceUpdateUtils.frequencyIncrements(List.of(song), -10).pull(PreferenceUpdateUtils.FAVORITE_SONGS, songId);
+
+        if(mongoTemplate.updateFirst(query, update, User.class).getModifiedCount() == 0) {
             throw new BusinessException(HttpStatus.BAD_REQUEST, "Song is not in your favorite list");
         }
 
-        currentUser.getUserPref().getFavoriteSongs().remove(songId);
-
-        for(String tagId : song.getTags()) {
-            currentUser.getUserPref().getTagFrequency().put(tagId, currentUser.getUserPref().getTagFrequency().getOrDefault(tagId, 0) - 10);
-        }
+        recommendationFeedService.markDirty(currentUser.getId());
+        trendingCharts.recordUnfavorite(TrendingKind.SONG, songId);
+    }
 
-        currentUser.getUserPref().getCategoryFrequency().put(song.getCategoryId(), currentUser.getUserPref().getCategoryFrequency().getOrDefault(song.getCategoryId(), 0) - 10);
-        currentUser.getUserPref().getCountryFrequency().put(song.getCountryId(), currentUser.getUserPref().getCountryFrequency().getOrDefault(song.getCountryId(), 0) - 10);
+    @Override
+    public CursorPage<SongDTO> searchByName(String prefix, String cursor, int limit) {
+        List<Song> ranked = SearchTextUtils.findRanked(mongoTemplate,
+                () -> new Query(Criteria.where("status").is(Status.PUBLIC.toString())),
+                Song.class, Song::getId, Song::getTitle, prefix);
 
-        mongoTemplate.save(AuthenticationUtils.getCurrentUser());
+        return CursorUtils.slice(ranked, cursor, limit).map(hydrationService::toSongDTOs);
     }
 
     @Override
-    public List<SongDTO> searchByName(String prefix, int limit) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("title").regex(".*" + Pattern.quote(prefix) + ".*", "i"));
-        query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
+    public CursorPage<SongDTO> searchByCategory(String categoryId, String cursor, int limit) {
+        return findPublicSongs(Criteria.where("categoryId").is(categoryId), cursor, limit);
+    }
 
-        if(limit <= 0) {
-            return mongoTemplate.find(query, Song.class).stream().map(song -> modelMapper.map(song, SongDTO.class)).toList();
-        } else {
-            return mongoTemplate.find(query, Song.class).stream().limit(limit).map(song -> modelMapper.map(song, SongDTO.class)).toList();
-        }
+    @Override
+    public CursorPage<SongDTO> searchByCountry(String countryId, String cursor, int limit) {
+        return findPublicSongs(Criteria.where("countryId").is(countryId), cursor, limit);
     }
 
     @Override
-    public List<SongDTO> searchByCategory(String categoryId, int limit) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("categoryId").is(categoryId));
-        query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
+    public CursorPage<SongDTO> searchByArtist(String artistId, String cursor, int limit) {
+        return findPublicSongs(Criteria.where("artistId").is(artistId), cursor, limit);
+    }
 
-        if(limit <= 0) {
-            return mongoTemplate.find(query, Song.class).stream().map(song -> modelMapper.map(song, SongDTO.class)).toList();
-        } else {
-            return mongoTemplate.find(query, Song.class).stream().limit(limit).map(song -> modelMapper.map(song, SongDTO.class)).toList();
+    @Override
+    public CursorPage<SongDTO> searchByTag(List<String> tagIds, String cursor, int limit) {
+        if(tagIds.isEmpty()) {
+            return new CursorPage<>();
         }
+
+        return findPublicSongs(Criteria.where("tags").in(tagIds), cursor, limit);
     }
 
-    @Override
-    public List<SongDTO> searchByCountry(String countryId, int limit) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("countryId").is(countryId));
-        query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
+    private UserPref loadUserPref(String userId) {
+        return userRepository.findUserPrefById(userId).map(User::getUserPref).orElseGet(UserPref::new);
+    }
 
-        if(limit <= 0) {
-            return mongoTemplate.find(query, Song.class).stream().map(song -> modelMapper.map(song, SongDTO.class)).toList();
+    private void indexSuggestion(Song song) {
+        if (Status.PUBLIC.toString().equals(song.getStatus())) {
+            suggestService.upsert(SuggestionKind.SONG, song.getId(), song.getTitle());
         } else {
-            return mongoTemplate.find(query, Song.class).stream().limit(limit).map(song -> modelMapper.map(song, SongDTO.class)).toList();
+            suggestService.remove(SuggestionKind.SONG, song.getId());
         }
     }
 
-    @Override
-    public List<SongDTO> searchByArtist(String artistId, int limit) {
-        Query query = new Query();
-        query.addCriteria(Criteria.where("artistId").is(artistId));
+    private CursorPage<SongDTO> findPublicSongs(Criteria criteria, String cursor, int limit) {
+        Query query = new Query(criteria);
         query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
 
-        if(limit <= 0) {
-            return mongoTemplate.find(query, Song.class).stream().map(song -> modelMapper.map(song, SongDTO.class)).toList();
-        } else {
-            return mongoTemplate.find(query, Song.class).stream().limit(limit).map(song -> modelMapper.map(song, SongDTO.class)).toList();
-        }
+        return CursorUtils.findPage(mongoTemplate, query, Song.class, Song::getId, cursor, limit)
+                .map(hydrationService::toSongDTOs);
     }
 
-    @Override
-    public List<SongDTO> searchByTag(List<String> tagIds, int limit) {
-        if(tagIds.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        Query query = new Query();
-        query.addCriteria(Criteria.where("tags").in(tagIds));
+    private List<Song> findCandidateSongs(Criteria criteria) {
+        Query query = new Query(criteria);
         query.addCriteria(Criteria.where("status").is(Status.PUBLIC.toString()));
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(RECOMMENDATION_CANDIDATE_LIMIT);
 
-        if(limit <= 0) {
-            return mongoTemplate.find(query, Song.class).stream().map(song -> modelMapper.map(song, SongDTO.class)).toList();
-        } else {
-            return mongoTemplate.find(query, Song.class).stream().limit(limit).map(song -> modelMapper.map(song, SongDTO.class)).toList();
-        }
+        return mongoTemplate.find(query, Song.class);
     }
 
     @Override
     public List<SongDTO> getUserRecommendations(int limit) {
         User currentUser = AuthenticationUtils.getCurrentUser();
 
-        List<String> topTags = currentUser.getUserPref().getTagFrequency().entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(2)
-                .map(Map.Entry::getKey)
-                .toList();
-
-        Set<SongDTO> recommendationsRaw = new HashSet<>(searchByTag(topTags, 0));
-
-        List<String> topCategories = currentUser.getUserPref().getCategoryFrequency().entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(2)
-                .map(Map.Entry::getKey)
-                .toList();
-
-        for (String categoryId : topCategories) {
-            recommendationsRaw.addAll(searchByCategory(categoryId, 0));
-        }
-
-        List<String> topCountries = currentUser.getUserPref().getCountryFrequency().entrySet().stream()
-                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
-                .limit(2)
-                .map(Map.Entry::getKey)
-                .toList();
-
-        for(String countryId : topCountries) {
-            recommendationsRaw.addAll(searchByCountry(countryId, 0));
-        }
-
-        if(recommendationsRaw.size() < 30) {
-            recommendationsRaw.addAll(searchByCategory(categoryRepository.findByName("Pop").getId(), 0));
-        }
-
-        recommendationsRaw.removeIf(songDto -> songDto.getStatus().equals(Status.PRIVATE.toString()) );
-
-        if(limit <= 0) {
-            return recommendationsRaw.stream().toList();
-        } else {
-            return recommendationsRaw.stream().limit(limit).toList();
-        }
+        return hydrationService.toPublicSongDTOsByIds(recommendationFeedService.getSongIds(currentUser.getId(), CursorUtils.pageSize(limit)));
     }
 
     @Override
-    public List<SongDTO> getUserHistory(int limit) {
+    public CursorPage<SongDTO> getUserHistory(String cursor, int limit) {
         User currentUser = AuthenticationUtils.getCurrentUser();
 
-        List<String> songIds = new ArrayList<>(currentUser.getUserPref().getSongHistory());
-
-        List<SongDTO> returnList;
-        if(limit <= 0) {
-            returnList = songIds.stream().map(songId -> modelMapper.map(mongoTemplate.findById(songId, Song.class), SongDTO.class)).toList();
-        } else {
-            returnList = songIds.stream().limit(limit).map(songId -> modelMapper.map(mongoTemplate.findById(songId, Song.class), SongDTO.class)).toList();
-        }
-
-        List<SongDTO> mutableList = new ArrayList<>(returnList);
-        Collections.reverse(mutableList);
-
-        return  mutableList;
+        return listenHistoryStore.page(currentUser.getId(), cursor, limit).map(hydrationService::toSongDTOsByIds);
     }
 
     @Override
     public List<SongDTO> getFavorites(int limit) {
-        User currentUser = AuthenticationUtils.getCurrentUser();
+        UserPref userPref = loadUserPref(AuthenticationUtils.getCurrentUser().getId());
 
         if(limit <= 0) {
-            return currentUser.getUserPref().getFavoriteSongs().stream().map(songId -> modelMapper.map(mongoTemplate.findById(songId, Song.class), SongDTO.class)).toList();
+            return hydrationService.toSongDTOsByIds(userPref.getFavoriteSongs());
         } else {
-            return currentUser.getUserPref().getFavoriteSongs().stream().limit(limit).map(songId -> modelMapper.map(mongoTemplate.findById(songId, Song.class), SongDTO.class)).toList();
+            return hydrationService.toSongDTOsByIds(userPref.getFavoriteSongs().stream().limit(limit).toList());
         }
     }
 
@@ -371,56 +307,55 @@ public class SongServiceImpl implements SongService {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Album doesn't exist");
         }
 
-        Set<SongDTO> recommendationsRaw = new HashSet<>(searchByCategory(album.getMainCategory(), 0));
-
-        List<String> albumTags = new ArrayList<>();
-        albumTags.add(album.getMainTag());
-
-        recommendationsRaw.addAll(searchByTag(albumTags, 0));
-
-        recommendationsRaw.addAll(searchByCountry(album.getMainCountry(), 0));
+        return hydrationService.toSongDTOsByIds(recommendationEngine.recommendSongIdsForAlbum(album, CursorUtils.pageSize(limit)));
+    }
 
-        recommendationsRaw.removeIf(songDto -> songDto.getStatus().equals(Status.PRIVATE.toString()));
+    @Override
+    public List<SongDTO> getTrending(String window, String categoryId, String countryId, String tagId, int limit) {
+        return hydrationService.toPublicSongDTOsByIds(trendingCharts.top(TrendingKind.SONG, window, categoryId, countryId, tagId, limit));
+    }
 
-        if(limit <= 0) {
-            return recommendationsRaw.stream().toList();
-        } else {
-            return recommendationsRaw.stream().limit(limit).toList();
-        }
+    @Override
+    public List<SongDTO> getHot(int limit) {
+        return hydrationService.toPublicSongDTOsByIds(hotSongs.top(limit));
     }
 
     @Override
     public void songListened(String songId) {
-        Song song = mongoTemplate.findById(songId, Song.class);
-
-        if(song == null) {
+        if(songId == null || !mongoTemplate.exists(new Query(Criteria.where("_id").is(songId)), Song.class)) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Song doesn't exist");
         }
 
-        User currentUser = AuthenticationUtils.getCurrentUser();
-
-        List<String> history = currentUser.getUserPref().getSongHistory();
-        history.remove(songId);
-        currentUser.getUserPref().getSongHistory().add(songId);
-
-        for(String tagId : song.getTags()) {
-            currentUser.getUserPref().getTagFrequency().put(tagId, currentUser.getUserPref().getTagFrequency().getOrDefault(tagId, 0) + 1);
-        }
-
-        currentUser.getUserPref().getCategoryFrequency().put(song.getCategoryId(), currentUser.getUserPref().getCategoryFrequency().getOrDefault(song.getCategoryId(), 0) + 1);
-        currentUser.getUserPref().getCountryFrequency().put(song.getCountryId(), currentUser.getUserPref().getCountryFrequency().getOrDefault(song.getCountryId(), 0) + 1);
-
-        mongoTemplate.save(currentUser);
+        listenEventService.record(AuthenticationUtils.getCurrentUser().getId(), songId);
+        trendingCharts.recordPlay(songId);
+        hotSongs.record(songId);
     }
 
     @Override
     public void updateFavouriteArtistForRecommendations(List<String> artistIds) {
+        List<Song> songs = new ArrayList<>();
+
         for(String artistId : artistIds) {
-            List<SongDTO> artistSongs = searchByArtist(artistId, 0);
+            songs.addAll(findCandidateSongs(Criteria.where("artistId").is(artistId)));
+        }
 
-            for(SongDTO song : artistSongs) {
-                songListened(song.getId());
-            }
+        if(!songs.isEmpty()) {
+            recordListens(AuthenticationUtils.getCurrentUser().getId(), songs);
         }
     }
+
+    /**
+     * Applies listens directly rather than through the event log: one {@code $inc} of the
+     * preference frequencies and an upsert of the songs into the listening history.
+     */
+    private void recordListens(String userId, List<Song> songs) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(userId)), PreferenceUpdateUtils.frequencyIncrements(songs, 1), User.class);
+
+        Date now = new Date();
+        Map<String, Date> listenedAt = new LinkedHashMap<>();
+        songs.forEach(song -> listenedAt.put(song.getId(), now));
+        listenHistoryStore.record(userId, listenedAt);
+
+        recommendationFeedService.markDirty(userId);
+    }
 }
@@ -1,9 +1,12 @@
 package com.eternify.backend.song.service.implementation;
 
 import com.eternify.backend.common.exception.BusinessException;
+import com.eternify.backend.song.cache.ReferenceDataCache;
 import com.eternify.backend.song.model.Tag;
 import com.eternify.backend.song.repository.TagRepository;
 import com.eternify.backend.song.service.TagService;
+import com.eternify.backend.suggest.model.SuggestionKind;
+import com.eternify.backend.suggest.service.SuggestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -14,6 +17,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TagServiceImpl implements TagService {
     private final TagRepository tagRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final SuggestService suggestService;
+
     @Override
     public void addTag(String name) {
         Tag tagCheck = tagRepository.findByName(name);
@@ -30,7 +36,9 @@ public class TagServiceImpl implements TagService {
                 .name(name)
                 .build();
 
-        tagRepository.save(tag);
+        tag = tagRepository.save(tag);
+        referenceDataCache.refresh();
+        suggestService.upsert(SuggestionKind.TAG, tag.getId(), tag.getName());
     }
 
     @Override
@@ -42,11 +50,17 @@ public class TagServiceImpl implements TagService {
         }
 
         tagRepository.delete(tag);
+        referenceDataCache.refresh();
+        suggestService.remove(SuggestionKind.TAG, tag.getId());
     }
 
     @Override
     public Tag getTagById(String id) {
-        Tag tag = tagRepository.findById(id).orElse(null);
+        Tag tag = referenceDataCache.getTag(id);
+
+        if(tag == null) {
+            tag = tagRepository.findById(id).orElse(null);
+        }
 
         if(tag == null) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Tag doesn't exist");
@@ -57,7 +71,11 @@ public class TagServiceImpl implements TagService {
 
     @Override
     public Tag getTagByName(String name) {
-        Tag tag = tagRepository.findByName(name);
+        Tag tag = referenceDataCache.getTagByName(name);
+
+        if(tag == null) {
+            tag = tagRepository.findByName(name);
+        }
 
         if(tag == null) {
             throw new BusinessException(HttpStatus.NOT_FOUND, "Tag doesn't exist");
@@ -68,6 +86,6 @@ public class TagServiceImpl implements TagService {
 
     @Override
     public List<Tag> getAllTags() {
-        return tagRepository.findAll();
+        return referenceDataCache.getAllTags();
     }
 }
@@ -0,0 +1,203 @@
+package com.eternify.backend.song.tombstone;
+
+import com.eternify.backend.song.dto.ReconcileStatsDTO;
+import com.eternify.backend.song.facet.AlbumStatsUpdater;
+import com.eternify.backend.song.model.AlbumTrack;
+import com.eternify.backend.song.model.ListenHistory;
+import com.eternify.backend.song.model.Song;
+import com.eternify.backend.song.model.SongTombstone;
+import com.eternify.backend.user.model.User;
+import com.eternify.backend.util.PreferenceUpdateUtils;
+import com.google.common.util.concurrent.RateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Removes every reference to deleted songs in the background, working from the oldest pending
+ * {@link SongTombstone}. Users' favourites and listening history are cleaned in id-bounded batches
+ * with one multi-document write each. Album tracks are removed album by album, because each removal
+ * also decrements that album's counters through {@link AlbumStatsUpdater} like any other track
+ * change. The album is recorded on the tombstone before its track is deleted and cleared once its
+ * counters are updated, so an album left between the two by a failure is recounted from its tracks
+ * when the tombstone is retried. All writes draw from one {@link RateLimiter} budget in documents
+ * per second, so a mass deletion is spread out instead of competing with foreground traffic. A
+ * tombstone is only marked reconciled once nothing refers to the song, so a crash simply resumes it.
+ * Runs on its own thread rather than the shared task scheduler, since waiting on the rate limiter
+ * can take minutes during a mass deletion. Assumes a single reconciling instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SongReconciler {
+    private final MongoTemplate mongoTemplate;
+    private final AlbumStatsUpdater albumStatsUpdater;
+
+    @Value("${tombstone.reconcile-batch-size}")
+    private int batchSize;
+
+    @Value("${tombstone.reconcile-documents-per-second}")
+    private double documentsPerSecond;
+
+    @Value("${tombstone.reconcile-interval-ms}")
+    private long intervalMs;
+
+    private RateLimiter rateLimiter;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor();
+
+    private final AtomicLong reconciled = new AtomicLong();
+    private final AtomicLong albumTracksRemoved = new AtomicLong();
+    private final AtomicLong favoritesRemoved = new AtomicLong();
+    private final AtomicLong historyRemoved = new AtomicLong();
+    private final AtomicLong albumsRecounted = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        initRateLimiter();
+        worker.scheduleWithFixedDelay(this::reconcile, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void initRateLimiter() {
+        rateLimiter = RateLimiter.create(documentsPerSecond);
+    }
+
+    @PreDestroy
+    public void stop() {
+        worker.shutdownNow();
+    }
+
+    public void reconcile() {
+        try {
+            Query pending = new Query(Criteria.where("reconciled").is(false));
+            pending.with(Sort.by(Sort.Direction.ASC, "deletedAt")).limit(batchSize);
+
+            for (SongTombstone tombstone : mongoTemplate.find(pending, SongTombstone.class)) {
+                try {
+                    reconcile(tombstone);
+                } catch (Exception e) {
+                    log.error("Error reconciling deleted song {}: {}", tombstone.getId(), e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error reconciling deleted songs: {}", e.getMessage());
+        }
+    }
+
+    public ReconcileStatsDTO getStats() {
+        return ReconcileStatsDTO.builder()
+                .pending(mongoTemplate.count(new Query(Criteria.where("reconciled").is(false)), SongTombstone.class))
+                .reconciled(reconciled.get())
+                .albumTracksRemoved(albumTracksRemoved.get())
+                .favoritesRemoved(favoritesRemoved.get())
+                .historyRemoved(historyRemoved.get())
+                .albumsRecounted(albumsRecounted.get())
+                .documentsPerSecond(documentsPerSecond)
+                .build();
+    }
+
+    private void reconcile(SongTombstone tombstone) {
+        String songId = tombstone.getId();
+
+        for (String albumId : tombstone.getPendingAlbums()) {
+            albumStatsUpdater.recount(albumId);
+            clearPendingAlbum(songId, albumId);
+            albumsRecounted.incrementAndGet();
+        }
+
+        while (removeAlbumTracks(tombstone.toSong()) >= batchSize) {
+            // Keep going while the song is in more albums.
+        }
+
+        while (removeFavorites(songId) >= batchSize) {
+            // Keep going while more users have it as a favourite.
+        }
+
+        while (removeHistory(songId) >= batchSize) {
+            // Keep going while more users have listened to it.
+        }
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(songId)),
+                new Update().set("reconciled", true).set("reconciledAt", new Date()), SongTombstone.class);
+        reconciled.incrementAndGet();
+    }
+
+    private int removeAlbumTracks(Song song) {
+        Query query = new Query(Criteria.where("songId").is(song.getId())).limit(batchSize);
+        query.fields().include("albumId");
+
+        List<AlbumTrack> tracks = mongoTemplate.find(query, AlbumTrack.class);
+
+        for (AlbumTrack track : tracks) {
+            rateLimiter.acquire(2);
+
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(song.getId())),
+                    new Update().addToSet("pendingAlbums", track.getAlbumId()), SongTombstone.class);
+
+            long removed = mongoTemplate.remove(new Query(Criteria.where("_id").is(track.getId())), AlbumTrack.class).getDeletedCount();
+
+            // The owner may have removed it in the meantime, and that already adjusted the album.
+            if (removed > 0) {
+                albumStatsUpdater.applyTracks(track.getAlbumId(), List.of(song), -1);
+                albumTracksRemoved.incrementAndGet();
+            }
+
+            clearPendingAlbum(song.getId(), track.getAlbumId());
+        }
+
+        return tracks.size();
+    }
+
+    private void clearPendingAlbum(String songId, String albumId) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(songId)),
+                new Update().pull("pendingAlbums", albumId), SongTombstone.class);
+    }
+
+    private int removeFavorites(String songId) {
+        Query query = new Query(Criteria.where(PreferenceUpdateUtils.FAVORITE_SONGS).is(songId)).limit(batchSize);
+        query.fields().include("_id");
+
+        List<String> userIds = mongoTemplate.find(query, User.class).stream().map(User::getId).toList();
+
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        rateLimiter.acquire(userIds.size());
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(userIds)),
+                new Update().pull(PreferenceUpdateUtils.FAVORITE_SONGS, songId), User.class);
+        favoritesRemoved.addAndGet(userIds.size());
+
+        return userIds.size();
+    }
+
+    private int removeHistory(String songId) {
+        Query query = new Query(Criteria.where("songId").is(songId)).limit(batchSize);
+        query.fields().include("_id");
+
+        List<String> entryIds = mongoTemplate.find(query, ListenHistory.class).stream().map(ListenHistory::getId).toList();
+
+        if (entryIds.isEmpty()) {
+            return 0;
+        }
+
+        rateLimiter.acquire(entryIds.size());
+        historyRemoved.addAndGet(mongoTemplate.remove(new Query(Criteria.where("_id").in(entryIds)), ListenHistory.class).getDeletedCount());
+
+        return entryIds.size();
+    }
+}
@@ -0,0 +1,194 @@
+package com.eternify.backend.song.track;
+
+import com.eternify.backend.common.api.CursorPage;
+import com.eternify.backend.song.model.AlbumTrack;
+import com.eternify.backend.util.CursorUtils;
+import com.eternify.backend.util.PositionKeys;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Album track listings in the {@code album_track} collection. Membership is answered by the unique
+ * (albumId, songId) index, tracks are read in {@code position} order with a keyset cursor, and
+ * moving a track rewrites only that track's position.
+ * <p>
+ * Positions are unique per album as well, so two writers that picked the same key from the same
+ * neighbours cannot both land; the loser re-reads its neighbours and tries again.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlbumTrackStore {
+    private static final Sort BY_POSITION = Sort.by(Sort.Direction.ASC, "position");
+    private static final String COLLECTION = "album_track";
+    private static final int MAX_POSITION_ATTEMPTS = 5;
+
+    public static final String POSITION_INDEX = "album_position";
+
+    private final MongoTemplate mongoTemplate;
+
+    public boolean contains(String albumId, String songId) {
+        return mongoTemplate.exists(new Query(Criteria.where("albumId").is(albumId).and("songId").is(songId)), AlbumTrack.class);
+    }
+
+    /**
+     * Which of {@code songIds} are already in the album, with one query.
+     */
+    public Set<String> existing(String albumId, Collection<String> songIds) {
+        if (songIds.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Query query = new Query(Criteria.where("albumId").is(albumId).and("songId").in(songIds));
+        query.fields().include("songId");
+
+        return mongoTemplate.find(query, AlbumTrack.class).stream().map(AlbumTrack::getSongId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Appends the songs after the current last track in the given order. A song that is already in
+     * the album fails the insert on the unique index; nothing of the batch is left behind then.
+     */
+    public void append(String albumId, List<String> songIds, Date additionTime) {
+        if (songIds.isEmpty()) {
+            return;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            Query last = new Query(Criteria.where("albumId").is(albumId));
+            last.with(Sort.by(Sort.Direction.DESC, "position")).limit(1);
+            last.fields().include("position");
+
+            AlbumTrack lastTrack = mongoTemplate.findOne(last, AlbumTrack.class);
+            List<String> positions = PositionKeys.after(lastTrack == null ? null : lastTrack.getPosition(), songIds.size());
+            List<AlbumTrack> tracks = new ArrayList<>(songIds.size());
+
+            for (int i = 0; i < songIds.size(); i++) {
+                tracks.add(AlbumTrack.builder()
+                        .id(new ObjectId().toHexString())
+                        .albumId(albumId)
+                        .songId(songIds.get(i))
+                        .position(positions.get(i))
+                        .additionTime(additionTime)
+                        .build());
+            }
+
+            try {
+                mongoTemplate.insertAll(tracks);
+                return;
+            } catch (DuplicateKeyException e) {
+                mongoTemplate.remove(new Query(Criteria.where("_id").in(tracks.stream().map(AlbumTrack::getId).toList())), AlbumTrack.class);
+
+                if (!isPositionConflict(e) || attempt >= MAX_POSITION_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public long remove(String albumId, Collection<String> songIds) {
+        if (songIds.isEmpty()) {
+            return 0;
+        }
+
+        return mongoTemplate.remove(new Query(Criteria.where("albumId").is(albumId).and("songId").in(songIds)), AlbumTrack.class)
+                .getDeletedCount();
+    }
+
+    public void removeAll(String albumId) {
+        mongoTemplate.remove(new Query(Criteria.where("albumId").is(albumId)), AlbumTrack.class);
+    }
+
+    /**
+     * Moves a track so that it ends up at index {@code order}. Only the two neighbours at the target
+     * are read, and only the moved track is written.
+     */
+    public void move(String albumId, String songId, int order) {
+        for (int attempt = 1; ; attempt++) {
+            Query neighbours = new Query(Criteria.where("albumId").is(albumId).and("songId").ne(songId));
+            neighbours.with(BY_POSITION).skip(Math.max(order - 1, 0)).limit(order == 0 ? 1 : 2);
+            neighbours.fields().include("position");
+
+            List<AlbumTrack> around = mongoTemplate.find(neighbours, AlbumTrack.class);
+            String before = null;
+            String after = null;
+
+            if (order == 0) {
+                after = around.isEmpty() ? null : around.get(0).getPosition();
+            } else {
+                before = around.isEmpty() ? null : around.get(0).getPosition();
+                after = around.size() < 2 ? null : around.get(1).getPosition();
+            }
+
+            try {
+                mongoTemplate.updateFirst(new Query(Criteria.where("albumId").is(albumId).and("songId").is(songId)),
+                        new Update().set("position", PositionKeys.between(before, after)), AlbumTrack.class);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_POSITION_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * One page of tracks in album order; the cursor is the last returned position.
+     */
+    public CursorPage<AlbumTrack> page(String albumId, String cursor, int limit) {
+        int pageSize = CursorUtils.pageSize(limit);
+        Query query = new Query(Criteria.where("albumId").is(albumId));
+
+        if (cursor != null && !cursor.isEmpty()) {
+            query.addCriteria(Criteria.where("position").gt(CursorUtils.decode(cursor)));
+        }
+
+        query.with(BY_POSITION).limit(pageSize + 1);
+
+        List<AlbumTrack> tracks = new ArrayList<>(mongoTemplate.find(query, AlbumTrack.class));
+        String nextCursor = null;
+
+        if (tracks.size() > pageSize) {
+            tracks = new ArrayList<>(tracks.subList(0, pageSize));
+            nextCursor = CursorUtils.encode(tracks.get(pageSize - 1).getPosition());
+        }
+
+        return new CursorPage<>(tracks, nextCursor);
+    }
+
+    /**
+     * Copies every track of {@code sourceAlbumId} into {@code targetAlbumId}, keeping positions and
+     * addition times. The copy runs inside the server as one {@code $merge} aggregation, so no track
+     * crosses the wire however long the album is.
+     */
+    public void copy(String sourceAlbumId, String targetAlbumId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("albumId").is(sourceAlbumId)),
+                Aggregation.project("songId", "position", "additionTime")
+                        .andExclude("_id")
+                        .and(LiteralOperators.valueOf(targetAlbumId).asLiteral()).as("albumId"),
+                Aggregation.merge()
+                        .intoCollection(COLLECTION)
+                        .whenDocumentsMatch(MergeOperation.WhenDocumentsMatch.failOnMatch())
+                        .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                        .build());
+
+        mongoTemplate.aggregate(aggregation, COLLECTION, AlbumTrack.class);
+    }
+
+    private static boolean isPositionConflict(DuplicateKeyException e) {
+        return e.getMessage() != null && e.getMessage().contains(POSITION_INDEX);
+    }
+}
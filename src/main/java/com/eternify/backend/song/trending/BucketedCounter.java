@@ -0,0 +1,162 @@
+package com.eternify.backend.song.trending;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-id counters split into hourly buckets held in a ring, so a sliding window is the sum of the
+ * last few buckets and old hours fall out by being overwritten. Increments only touch a
+ * {@link LongAdder}, which keeps concurrent recording cheap; an event for an hour that has already
+ * left the ring is dropped, and so is one for a new id once its bucket holds {@code maxIdsPerBucket}
+ * ids, which bounds memory whatever ids callers pass in.
+ */
+public class BucketedCounter {
+    private final int size;
+    private final int maxIdsPerBucket;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public BucketedCounter(int size, int maxIdsPerBucket) {
+        this.size = size;
+        this.maxIdsPerBucket = maxIdsPerBucket;
+        this.buckets = new AtomicReferenceArray<>(size);
+    }
+
+    public void add(String id, long delta, long hour) {
+        Bucket bucket = bucket(hour);
+
+        if (bucket == null) {
+            return;
+        }
+
+        LongAdder count = bucket.counts.get(id);
+
+        if (count == null) {
+            if (bucket.counts.size() >= maxIdsPerBucket) {
+                return;
+            }
+
+            count = bucket.counts.computeIfAbsent(id, key -> new LongAdder());
+        }
+
+        count.add(delta);
+    }
+
+    /**
+     * Sum per id over the {@code hours} buckets ending at {@code currentHour}. Ids whose sum is not
+     * positive are left out.
+     */
+    public Map<String, Long> totals(long currentHour, int hours) {
+        Map<String, Long> totals = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            Bucket bucket = buckets.get(i);
+
+            if (bucket != null && bucket.hour <= currentHour && bucket.hour > currentHour - hours) {
+                bucket.counts.forEach((id, count) -> totals.merge(id, count.sum(), Long::sum));
+            }
+        }
+
+        totals.values().removeIf(total -> total <= 0);
+
+        return totals;
+    }
+
+    /**
+     * What was counted here since the last {@link #markPersisted}, as a delta per id and hour. Nothing
+     * is marked, so a failed write simply reports the same changes again. Only one thread may call
+     * this and {@link #markPersisted} at a time.
+     */
+    public List<Change> changes() {
+        List<Change> changes = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            Bucket bucket = buckets.get(i);
+
+            if (bucket == null) {
+                continue;
+            }
+
+            bucket.counts.forEach((id, count) -> {
+                long current = count.sum();
+                long persisted = bucket.persisted.getOrDefault(id, 0L);
+
+                if (current != persisted) {
+                    changes.add(new Change(bucket.hour, id, current - persisted, current));
+                }
+            });
+        }
+
+        return changes;
+    }
+
+    /**
+     * Records {@code changes} as written, once the write has succeeded.
+     */
+    public void markPersisted(Collection<Change> changes) {
+        for (Change change : changes) {
+            Bucket bucket = buckets.get((int) Math.floorMod(change.hour(), (long) size));
+
+            if (bucket != null && bucket.hour == change.hour()) {
+                bucket.persisted.put(change.id(), change.total());
+            }
+        }
+    }
+
+    /**
+     * Restores a persisted count, e.g. after a restart. It counts as already persisted, so it is
+     * never written back.
+     */
+    public void load(String id, long count, long hour) {
+        Bucket bucket = bucket(hour);
+
+        if (bucket != null) {
+            bucket.counts.computeIfAbsent(id, key -> new LongAdder()).add(count);
+            bucket.persisted.merge(id, count, Long::sum);
+        }
+    }
+
+    private Bucket bucket(long hour) {
+        int slot = (int) Math.floorMod(hour, (long) size);
+
+        while (true) {
+            Bucket current = buckets.get(slot);
+
+            if (current != null && current.hour == hour) {
+                return current;
+            }
+
+            if (current != null && current.hour > hour) {
+                return null;
+            }
+
+            Bucket fresh = new Bucket(hour);
+
+            if (buckets.compareAndSet(slot, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * {@code delta} is what to add to the stored count; {@code total} is the local count it brings the
+     * bucket up to.
+     */
+    public record Change(long hour, String id, long delta, long total) {
+    }
+
+    private static class Bucket {
+        private final long hour;
+        private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+        private final Map<String, Long> persisted = new ConcurrentHashMap<>();
+
+        private Bucket(long hour) {
+            this.hour = hour;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.eternify.backend.song.trending;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch over string ids. With {@code width = ⌈e / epsilon⌉} and
+ * {@code depth = ⌈ln(1 / delta)⌉}, an estimate never undercounts and overcounts by more than
+ * {@code epsilon} times the total count with probability at least {@code 1 - delta}. Memory is
+ * {@code width × depth} counters however many distinct ids are added. Sketches of equal dimensions
+ * merge by adding their counters, so per-node sketches can be combined.
+ */
+public class CountMinSketch {
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counts;
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Sketch dimensions must be positive");
+        }
+
+        this.width = width;
+        this.depth = depth;
+        this.counts = new AtomicLongArray(width * depth);
+    }
+
+    public static CountMinSketch withErrorBounds(double epsilon, double delta) {
+        return new CountMinSketch((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+    /**
+     * Restores a sketch from {@link #toArray()}.
+     */
+    public static CountMinSketch of(int width, int depth, long[] values) {
+        if (values.length != width * depth) {
+            throw new IllegalArgumentException("Expected " + width * depth + " counters, got " + values.length);
+        }
+
+        CountMinSketch sketch = new CountMinSketch(width, depth);
+
+        for (int i = 0; i < values.length; i++) {
+            sketch.counts.set(i, values[i]);
+        }
+
+        return sketch;
+    }
+
+    /**
+     * Adds {@code count} to {@code id} and returns its new estimate.
+     */
+    public long add(String id, long count) {
+        long[] hashes = hashes(id);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.addAndGet(index(hashes, row), count));
+        }
+
+        return estimate;
+    }
+
+    public long estimate(String id) {
+        long[] hashes = hashes(id);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.get(index(hashes, row)));
+        }
+
+        return estimate;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different dimensions");
+        }
+
+        for (int i = 0; i < counts.length(); i++) {
+            counts.addAndGet(i, other.counts.get(i));
+        }
+    }
+
+    public long[] toArray() {
+        long[] values = new long[counts.length()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = counts.get(i);
+        }
+
+        return values;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    private int index(long[] hashes, int row) {
+        return row * width + (int) Math.floorMod(hashes[0] + row * hashes[1], (long) width);
+    }
+
+    /**
+     * The two halves of one 128-bit hash; row {@code i} uses {@code h1 + i·h2}.
+     */
+    private static long[] hashes(String id) {
+        HashCode hash = HASH.hashString(id, StandardCharsets.UTF_8);
+        ByteBuffer bytes = ByteBuffer.wrap(hash.asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+
+        return new long[]{bytes.getLong(), bytes.getLong()};
+    }
+}
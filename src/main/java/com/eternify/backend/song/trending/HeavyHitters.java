@@ -0,0 +1,102 @@
+package com.eternify.backend.song.trending;
+
+import com.eternify.backend.song.recommendation.Candidate;
+import com.eternify.backend.song.recommendation.TopK;
+
+import java.util.*;
+
+/**
+ * Streaming top-k over a {@link CountMinSketch}. The sketch counts every id; alongside it at most
+ * {@code k} candidate ids are kept with their latest estimates, and an id displaces the weakest
+ * candidate once its estimate is higher. State is the sketch plus k entries, independent of how
+ * many distinct ids are seen.
+ */
+public class HeavyHitters {
+    private final CountMinSketch sketch;
+    private final int k;
+
+    private final Map<String, Long> candidates = new HashMap<>();
+    private String weakest;
+    private long weakestEstimate;
+
+    public HeavyHitters(CountMinSketch sketch, int k) {
+        this.sketch = sketch;
+        this.k = k;
+    }
+
+    public void add(String id) {
+        offer(id, sketch.add(id, 1));
+    }
+
+    public CountMinSketch getSketch() {
+        return sketch;
+    }
+
+    public synchronized List<String> candidates() {
+        return new ArrayList<>(candidates.keySet());
+    }
+
+    public synchronized List<String> top(int limit) {
+        Map<String, Long> snapshot = new HashMap<>(candidates);
+
+        return rank(snapshot, Math.min(limit, k));
+    }
+
+    /**
+     * Top ids of several sketches combined, e.g. one per node: the sketches are summed and every
+     * node's candidates are re-estimated against the sum.
+     */
+    public static List<String> merge(List<CountMinSketch> sketches, Collection<String> candidates, int limit) {
+        if (sketches.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        CountMinSketch merged = new CountMinSketch(sketches.get(0).getWidth(), sketches.get(0).getDepth());
+        sketches.forEach(merged::merge);
+
+        Map<String, Long> estimates = new HashMap<>();
+
+        for (String id : candidates) {
+            estimates.put(id, merged.estimate(id));
+        }
+
+        return rank(estimates, limit);
+    }
+
+    private synchronized void offer(String id, long estimate) {
+        if (candidates.containsKey(id) || candidates.size() < k) {
+            candidates.put(id, estimate);
+
+            if (weakest == null || id.equals(weakest) || estimate < weakestEstimate) {
+                findWeakest();
+            }
+
+            return;
+        }
+
+        if (estimate <= weakestEstimate) {
+            return;
+        }
+
+        candidates.remove(weakest);
+        candidates.put(id, estimate);
+        findWeakest();
+    }
+
+    private void findWeakest() {
+        weakest = null;
+        weakestEstimate = Long.MAX_VALUE;
+
+        for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+            if (entry.getValue() < weakestEstimate) {
+                weakest = entry.getKey();
+                weakestEstimate = entry.getValue();
+            }
+        }
+    }
+
+    private static List<String> rank(Map<String, Long> estimates, int limit) {
+        return TopK.ids(estimates.keySet().stream().map(id -> new Candidate(id, List.of(), null, null)).toList(),
+                candidate -> estimates.get(candidate.id()), limit);
+    }
+}
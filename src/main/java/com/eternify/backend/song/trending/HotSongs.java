@@ -0,0 +1,148 @@
+package com.eternify.backend.song.trending;
+
+import com.eternify.backend.song.model.HotSketch;
+import com.eternify.backend.song.model.Song;
+import com.eternify.backend.song.model.Status;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Songs with the most listens right now, across all nodes, in bounded memory. Each node feeds its
+ * listens into a {@link HeavyHitters} per epoch and periodically publishes the sketch and its
+ * candidates to {@code hot_sketch}. The hot list is then computed from the current and previous
+ * epoch of every node, merged, so it neither depends on which node served the listens nor drops
+ * to nothing when an epoch starts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotSongs {
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${hot.epsilon}")
+    private double epsilon;
+
+    @Value("${hot.delta}")
+    private double delta;
+
+    @Value("${hot.top-k}")
+    private int topK;
+
+    @Value("${hot.epoch-ms}")
+    private long epochMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Epoch current;
+    private volatile Epoch previous;
+    private volatile List<String> hot = List.of();
+
+    @PostConstruct
+    public void initEpoch() {
+        current = new Epoch(epochNumber(), newHitters());
+    }
+
+    public void record(String songId) {
+        epoch().hitters().add(songId);
+    }
+
+    public List<String> top(int limit) {
+        List<String> songIds = hot;
+
+        return limit <= 0 || limit >= songIds.size() ? songIds : songIds.subList(0, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${hot.publish-interval-ms}")
+    public void publish() {
+        try {
+            Epoch latest = epoch();
+            Epoch before = previous;
+
+            save(latest);
+
+            if (before != null) {
+                save(before);
+            }
+
+            List<HotSketch> sketches = mongoTemplate.find(new Query(Criteria.where("epoch").gte(latest.number() - 1)), HotSketch.class);
+            Set<String> candidates = new HashSet<>();
+            List<CountMinSketch> merged = new ArrayList<>();
+
+            for (HotSketch sketch : sketches) {
+                if (sketch.getWidth() == latest.hitters().getSketch().getWidth() && sketch.getDepth() == latest.hitters().getSketch().getDepth()) {
+                    merged.add(CountMinSketch.of(sketch.getWidth(), sketch.getDepth(), sketch.getCounts().stream().mapToLong(Long::longValue).toArray()));
+                    candidates.addAll(sketch.getCandidates());
+                }
+            }
+
+            List<String> ranked = HeavyHitters.merge(merged, candidates, topK);
+            hot = publicOnly(ranked);
+
+            mongoTemplate.remove(new Query(Criteria.where("epoch").lt(latest.number() - 1)), HotSketch.class);
+        } catch (Exception e) {
+            log.error("Error publishing hot songs sketch: {}", e.getMessage());
+        }
+    }
+
+    private void save(Epoch epoch) {
+        CountMinSketch sketch = epoch.hitters().getSketch();
+
+        mongoTemplate.save(HotSketch.builder()
+                .id(nodeId + ":" + epoch.number())
+                .nodeId(nodeId)
+                .epoch(epoch.number())
+                .width(sketch.getWidth())
+                .depth(sketch.getDepth())
+                .counts(Arrays.stream(sketch.toArray()).boxed().toList())
+                .candidates(epoch.hitters().candidates())
+                .build());
+    }
+
+    private List<String> publicOnly(List<String> ranked) {
+        Query query = new Query(Criteria.where("_id").in(ranked).and("status").is(Status.PUBLIC.toString()));
+        query.fields().include("_id");
+
+        Set<String> visible = mongoTemplate.find(query, Song.class).stream().map(Song::getId).collect(Collectors.toSet());
+
+        return ranked.stream().filter(visible::contains).toList();
+    }
+
+    private Epoch epoch() {
+        long number = epochNumber();
+        Epoch epoch = current;
+
+        if (epoch.number() == number) {
+            return epoch;
+        }
+
+        synchronized (this) {
+            if (current.number() != number) {
+                previous = current.number() == number - 1 ? current : null;
+                current = new Epoch(number, newHitters());
+            }
+
+            return current;
+        }
+    }
+
+    private HeavyHitters newHitters() {
+        return new HeavyHitters(CountMinSketch.withErrorBounds(epsilon, delta), topK);
+    }
+
+    private long epochNumber() {
+        return System.currentTimeMillis() / epochMs;
+    }
+
+    private record Epoch(long number, HeavyHitters hitters) {
+    }
+}
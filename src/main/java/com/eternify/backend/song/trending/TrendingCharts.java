@@ -0,0 +1,279 @@
+package com.eternify.backend.song.trending;
+
+import com.eternify.backend.common.exception.BusinessException;
+import com.eternify.backend.song.model.Album;
+import com.eternify.backend.song.model.Song;
+import com.eternify.backend.song.model.Status;
+import com.eternify.backend.song.model.TrendingBucket;
+import com.eternify.backend.song.recommendation.Candidate;
+import com.eternify.backend.song.recommendation.TopK;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Trending songs and albums. Plays and favourites are counted in memory in hourly
+ * {@link BucketedCounter}s, so recording costs no Mongo write; what each instance counted since
+ * its last flush is {@code $inc}ed into {@code trending_bucket}, so instances add up rather than
+ * overwrite each other, and the stored totals are reloaded on startup. An instance ranks from what
+ * it loaded plus its own events since. Charts are recomputed on a schedule for every window: the
+ * facets of every counted id are resolved with projected {@code $in} queries and cached for
+ * {@code trending.facet-ttl-ms}, and {@link TopK} picks the top list of each category, country and
+ * tag from all of its ids, so small facets are not crowded out by the overall chart. Readers only
+ * look up a precomputed list.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingCharts {
+    private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+    private static final int RING_SIZE = TrendingWindow.DAY.getHours();
+    private static final String ALL = "";
+    private static final int RESOLVE_CHUNK_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${trending.chart-size}")
+    private int chartSize;
+
+    @Value("${trending.favorite-weight}")
+    private int favoriteWeight;
+
+    @Value("${trending.max-ids-per-bucket}")
+    private int maxIdsPerBucket;
+
+    @Value("${trending.facet-ttl-ms}")
+    private long facetTtlMs;
+
+    private final Map<TrendingKind, BucketedCounter> counters = new EnumMap<>(TrendingKind.class);
+    private final Map<TrendingKind, Map<String, Facets>> facets = new EnumMap<>(TrendingKind.class);
+
+    private volatile Map<TrendingKind, Map<TrendingWindow, Map<String, List<String>>>> charts = new EnumMap<>(TrendingKind.class);
+
+    @PostConstruct
+    public void load() {
+        for (TrendingKind kind : TrendingKind.values()) {
+            counters.put(kind, new BucketedCounter(RING_SIZE, maxIdsPerBucket));
+            facets.put(kind, new HashMap<>());
+        }
+
+        try {
+            long currentHour = currentHour();
+            Query query = new Query(Criteria.where("hour").gt(currentHour - RING_SIZE));
+
+            for (TrendingBucket bucket : mongoTemplate.find(query, TrendingBucket.class)) {
+                counters.get(TrendingKind.valueOf(bucket.getKind())).load(bucket.getTargetId(), bucket.getCount(), bucket.getHour());
+            }
+
+            refresh();
+        } catch (Exception e) {
+            log.error("Error loading trending counters: {}", e.getMessage());
+        }
+    }
+
+    public void recordPlay(String songId) {
+        counters.get(TrendingKind.SONG).add(songId, 1, currentHour());
+    }
+
+    public void recordFavorite(TrendingKind kind, String id) {
+        counters.get(kind).add(id, favoriteWeight, currentHour());
+    }
+
+    public void recordUnfavorite(TrendingKind kind, String id) {
+        counters.get(kind).add(id, -favoriteWeight, currentHour());
+    }
+
+    /**
+     * The chart for at most one of {@code categoryId}, {@code countryId} and {@code tagId}, or the
+     * overall chart if none is given; {@code limit} 0 or less returns the whole chart.
+     */
+    public List<String> top(TrendingKind kind, String window, String categoryId, String countryId, String tagId, int limit) {
+        TrendingWindow trendingWindow;
+
+        try {
+            trendingWindow = TrendingWindow.valueOf(window.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Invalid trending window");
+        }
+
+        if (Stream.of(categoryId, countryId, tagId).filter(Objects::nonNull).count() > 1) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Only one of category, country and tag may be given");
+        }
+
+        String key = categoryId != null ? categoryKey(categoryId)
+                : countryId != null ? countryKey(countryId)
+                : tagId != null ? tagKey(tagId)
+                : ALL;
+
+        List<String> chart = charts.getOrDefault(kind, Map.of())
+                .getOrDefault(trendingWindow, Map.of())
+                .getOrDefault(key, List.of());
+
+        return limit <= 0 || limit >= chart.size() ? chart : chart.subList(0, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${trending.flush-interval-ms}", initialDelayString = "${trending.flush-interval-ms}")
+    public void flush() {
+        try {
+            long currentHour = currentHour();
+
+            for (TrendingKind kind : TrendingKind.values()) {
+                List<BucketedCounter.Change> changes = counters.get(kind).changes();
+
+                if (changes.isEmpty()) {
+                    continue;
+                }
+
+                BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrendingBucket.class);
+
+                for (BucketedCounter.Change change : changes) {
+                    operations.upsert(new Query(Criteria.where("_id").is(kind + ":" + change.hour() + ":" + change.id())),
+                            new Update()
+                                    .setOnInsert("kind", kind.toString())
+                                    .setOnInsert("targetId", change.id())
+                                    .setOnInsert("hour", change.hour())
+                                    .inc("count", change.delta()));
+                }
+
+                operations.execute();
+                counters.get(kind).markPersisted(changes);
+            }
+
+            mongoTemplate.remove(new Query(Criteria.where("hour").lte(currentHour - RING_SIZE)), TrendingBucket.class);
+        } catch (Exception e) {
+            log.error("Error persisting trending counters: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trending.refresh-interval-ms}", initialDelayString = "${trending.refresh-interval-ms}")
+    public void refreshSafely() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Error refreshing trending charts: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void refresh() {
+        long currentHour = currentHour();
+        Map<TrendingKind, Map<TrendingWindow, Map<String, List<String>>>> refreshed = new EnumMap<>(TrendingKind.class);
+
+        for (TrendingKind kind : TrendingKind.values()) {
+            Map<TrendingWindow, Map<String, Long>> totalsByWindow = new EnumMap<>(TrendingWindow.class);
+
+            for (TrendingWindow window : TrendingWindow.values()) {
+                totalsByWindow.put(window, counters.get(kind).totals(currentHour, window.getHours()));
+            }
+
+            Set<String> ids = totalsByWindow.values().stream()
+                    .flatMap(totals -> totals.keySet().stream())
+                    .collect(Collectors.toSet());
+            Map<String, Facets> resolved = resolveFacets(kind, ids);
+            Map<TrendingWindow, Map<String, List<String>>> byWindow = new EnumMap<>(TrendingWindow.class);
+
+            totalsByWindow.forEach((window, totals) -> byWindow.put(window, rank(totals, resolved)));
+            refreshed.put(kind, byWindow);
+        }
+
+        charts = refreshed;
+    }
+
+    /**
+     * The top {@code chartSize} ids of every chart key, each ranked over all ids carrying that key.
+     */
+    private Map<String, List<String>> rank(Map<String, Long> totals, Map<String, Facets> resolved) {
+        Map<String, List<Candidate>> byKey = new HashMap<>();
+
+        totals.keySet().forEach(id -> {
+            Candidate candidate = new Candidate(id, List.of(), null, null);
+            resolved.get(id).keys().forEach(key -> byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(candidate));
+        });
+
+        Map<String, List<String>> charts = new HashMap<>();
+        byKey.forEach((key, candidates) ->
+                charts.put(key, TopK.ids(candidates, candidate -> totals.get(candidate.id()), chartSize)));
+
+        return charts;
+    }
+
+    /**
+     * Chart keys of {@code ids}, looking up only ids not resolved within the facet TTL; ids that are
+     * no longer counted are forgotten. An id that is missing or not public gets no keys.
+     */
+    private Map<String, Facets> resolveFacets(TrendingKind kind, Set<String> ids) {
+        Map<String, Facets> cache = facets.get(kind);
+        long now = System.currentTimeMillis();
+
+        cache.keySet().retainAll(ids);
+
+        List<String> stale = ids.stream()
+                .filter(id -> !cache.containsKey(id) || cache.get(id).resolvedAt() <= now - facetTtlMs)
+                .toList();
+
+        for (int from = 0; from < stale.size(); from += RESOLVE_CHUNK_SIZE) {
+            List<String> chunk = stale.subList(from, Math.min(from + RESOLVE_CHUNK_SIZE, stale.size()));
+            Map<String, List<String>> keys = kind == TrendingKind.SONG ? songKeys(chunk) : albumKeys(chunk);
+
+            chunk.forEach(id -> cache.put(id, new Facets(keys.getOrDefault(id, List.of()), now)));
+        }
+
+        return cache;
+    }
+
+    private Map<String, List<String>> songKeys(List<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids).and("status").is(Status.PUBLIC.toString()));
+        query.fields().include("tags", "categoryId", "countryId");
+
+        Map<String, List<String>> keys = new HashMap<>();
+
+        for (Song song : mongoTemplate.find(query, Song.class)) {
+            List<String> songKeys = new ArrayList<>(List.of(ALL, categoryKey(song.getCategoryId()), countryKey(song.getCountryId())));
+            song.getTags().forEach(tagId -> songKeys.add(tagKey(tagId)));
+            keys.put(song.getId(), songKeys);
+        }
+
+        return keys;
+    }
+
+    private Map<String, List<String>> albumKeys(List<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids).and("status").is(Status.PUBLIC.toString()));
+        query.fields().include("mainCategory", "mainCountry", "mainTag");
+
+        return mongoTemplate.find(query, Album.class).stream()
+                .collect(Collectors.toMap(Album::getId, album -> List.of(ALL, categoryKey(album.getMainCategory()),
+                        countryKey(album.getMainCountry()), tagKey(album.getMainTag()))));
+    }
+
+    private static String categoryKey(String categoryId) {
+        return "category:" + categoryId;
+    }
+
+    private static String countryKey(String countryId) {
+        return "country:" + countryId;
+    }
+
+    private static String tagKey(String tagId) {
+        return "tag:" + tagId;
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / HOUR_MS;
+    }
+
+    private record Facets(List<String> keys, long resolvedAt) {
+    }
+}
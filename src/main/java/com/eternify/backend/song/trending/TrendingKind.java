@@ -0,0 +1,6 @@
+package com.eternify.backend.song.trending;
+
+public enum TrendingKind {
+    SONG,
+    ALBUM
+}
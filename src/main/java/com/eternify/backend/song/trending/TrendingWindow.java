@@ -0,0 +1,17 @@
+package com.eternify.backend.song.trending;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * How many hourly buckets a chart sums: {@code HOUR} is the current and the previous hour, so it
+ * never drops to nothing at the top of an hour.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TrendingWindow {
+    HOUR(2),
+    DAY(24);
+
+    private final int hours;
+}
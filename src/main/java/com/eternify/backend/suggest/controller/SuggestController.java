@@ -0,0 +1,41 @@
+package com.eternify.backend.suggest.controller;
+
+import com.eternify.backend.common.api.ApiResponse;
+import com.eternify.backend.suggest.dto.SuggestionDTO;
+import com.eternify.backend.suggest.service.SuggestService;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.Assert;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "suggest")
+@RequestMapping("/api/suggest/v1")
+public class SuggestController {
+    @Value("${api.token}")
+    private String apiToken;
+
+    private final SuggestService suggestService;
+
+    @GetMapping("/suggest")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = SuggestionDTO.class), mediaType = "application/json") }),
+    })
+    public ResponseEntity<ApiResponse> suggest(@RequestHeader("X-auth-token") String token,
+                                               @RequestParam String prefix,
+                                               @RequestParam(defaultValue = "0") int limit) {
+        try {
+            Assert.isTrue(apiToken.equals(token), "Invalid token");
+            return ResponseEntity.ok(ApiResponse.success("Suggest success", suggestService.suggest(prefix, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(HttpServletResponse.SC_BAD_REQUEST, e.getMessage()));
+        }
+    }
+}
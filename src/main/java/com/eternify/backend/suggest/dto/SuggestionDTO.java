@@ -0,0 +1,14 @@
+package com.eternify.backend.suggest.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionDTO {
+    private String id;
+    private String title;
+    private String kind;
+}
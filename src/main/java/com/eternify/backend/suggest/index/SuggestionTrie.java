@@ -0,0 +1,347 @@
+package com.eternify.backend.suggest.index;
+
+import com.eternify.backend.suggest.model.SuggestionEntry;
+import com.eternify.backend.util.SearchTextUtils;
+
+import java.util.*;
+
+/**
+ * Immutable radix trie over normalised titles. Every word start of a title is a key, so "tung"
+ * finds "Sơn Tùng M-TP", and every node stores the top-k entries of its subtree by score, so a
+ * lookup is a walk down the prefix with no traversal of the subtree. Instances are never mutated:
+ * {@link #with} and {@link #without} copy only the nodes on the paths of the entry's keys and share
+ * the rest with the previous trie.
+ */
+public final class SuggestionTrie {
+    public static final SuggestionTrie EMPTY = new SuggestionTrie(Node.EMPTY, 0, 0);
+
+    private static final int MAX_KEY_LENGTH = 32;
+    private static final int MAX_KEYS_PER_ENTRY = 8;
+    private static final Comparator<SuggestionEntry> BY_POPULARITY = Comparator.comparingLong(SuggestionEntry::score).reversed()
+            .thenComparingInt(entry -> entry.title().length())
+            .thenComparing(SuggestionEntry::id);
+
+    private final Node root;
+    private final int size;
+    private final int topK;
+
+    private SuggestionTrie(Node root, int size, int topK) {
+        this.root = root;
+        this.size = size;
+        this.topK = topK;
+    }
+
+    public static SuggestionTrie build(Collection<SuggestionEntry> entries, int topK) {
+        List<Key> keys = new ArrayList<>();
+
+        for (SuggestionEntry entry : entries) {
+            for (String key : keysOf(entry)) {
+                keys.add(new Key(key, entry));
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return new SuggestionTrie(Node.EMPTY, 0, topK);
+        }
+
+        keys.sort(Comparator.comparing(Key::text));
+
+        return new SuggestionTrie(buildNode(keys, 0, keys.size(), 0, topK), entries.size(), topK);
+    }
+
+    /**
+     * A trie that also holds {@code entry}.
+     */
+    public SuggestionTrie with(SuggestionEntry entry) {
+        Node updated = root;
+
+        for (String key : keysOf(entry)) {
+            updated = insert(updated, key, 0, entry, topK);
+        }
+
+        return new SuggestionTrie(updated, size + 1, topK);
+    }
+
+    /**
+     * A trie without {@code entry}, which must be the exact instance previously added.
+     */
+    public SuggestionTrie without(SuggestionEntry entry) {
+        Node updated = root;
+
+        for (String key : keysOf(entry)) {
+            updated = delete(updated, key, 0, entry, topK);
+
+            if (updated == null) {
+                updated = Node.EMPTY;
+            }
+        }
+
+        return new SuggestionTrie(updated, Math.max(size - 1, 0), topK);
+    }
+
+    public List<SuggestionEntry> suggest(String prefix, int limit) {
+        String query = SearchTextUtils.normalize(prefix);
+
+        if (query.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Node node = root;
+        int position = 0;
+
+        while (position < query.length()) {
+            int index = Arrays.binarySearch(node.firstChars, query.charAt(position));
+
+            if (index < 0) {
+                return new ArrayList<>();
+            }
+
+            String label = node.labels[index];
+            String remaining = query.substring(position);
+
+            if (remaining.length() <= label.length()) {
+                return label.startsWith(remaining) ? top(node.children[index], limit) : new ArrayList<>();
+            }
+
+            if (!remaining.startsWith(label)) {
+                return new ArrayList<>();
+            }
+
+            position += label.length();
+            node = node.children[index];
+        }
+
+        return top(node, limit);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static List<SuggestionEntry> top(Node node, int limit) {
+        return Arrays.stream(node.top).limit(limit).toList();
+    }
+
+    private static List<String> keysOf(SuggestionEntry entry) {
+        String normalized = SearchTextUtils.normalize(entry.title());
+        Set<String> keys = new LinkedHashSet<>();
+
+        for (int i = 0; i < normalized.length() && keys.size() < MAX_KEYS_PER_ENTRY; i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                String key = normalized.substring(i);
+                keys.add(key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key);
+            }
+        }
+
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Copy of {@code node} with {@code entry} stored under key[position..].
+     */
+    private static Node insert(Node node, String key, int position, SuggestionEntry entry, int topK) {
+        SuggestionEntry[] top = rank(concat(node.top, entry), topK);
+
+        if (position == key.length()) {
+            return new Node(node.firstChars, node.labels, node.children, concat(node.terminals, entry), top);
+        }
+
+        String remaining = key.substring(position);
+        int index = Arrays.binarySearch(node.firstChars, remaining.charAt(0));
+
+        if (index < 0) {
+            Node leaf = new Node(new char[0], new String[0], new Node[0], new SuggestionEntry[]{entry}, new SuggestionEntry[]{entry});
+            return node.withChild(-index - 1, remaining, leaf, true, top);
+        }
+
+        String label = node.labels[index];
+        int common = commonPrefixLength(label, remaining);
+
+        if (common == label.length()) {
+            return node.withChild(index, label, insert(node.children[index], key, position + common, entry, topK), false, top);
+        }
+
+        Node tail = node.children[index];
+        Node split = new Node(new char[]{label.charAt(common)}, new String[]{label.substring(common)}, new Node[]{tail}, new SuggestionEntry[0], tail.top);
+
+        return node.withChild(index, label.substring(0, common), insert(split, key, position + common, entry, topK), false, top);
+    }
+
+    /**
+     * Copy of {@code node} without {@code entry} under key[position..], or null when nothing is left
+     * below it. Single-child nodes left behind are merged into their child to keep the trie compact.
+     */
+    private static Node delete(Node node, String key, int position, SuggestionEntry entry, int topK) {
+        SuggestionEntry[] terminals = node.terminals;
+        char[] firstChars = node.firstChars;
+        String[] labels = node.labels;
+        Node[] children = node.children;
+
+        if (position == key.length()) {
+            terminals = Arrays.stream(terminals).filter(existing -> !existing.equals(entry)).toArray(SuggestionEntry[]::new);
+        } else {
+            int index = Arrays.binarySearch(firstChars, key.charAt(position));
+
+            if (index < 0 || !key.startsWith(labels[index], position)) {
+                return node;
+            }
+
+            Node child = delete(children[index], key, position + labels[index].length(), entry, topK);
+
+            if (child == null) {
+                firstChars = removeAt(firstChars, index);
+                labels = removeAt(labels, index);
+                children = removeAt(children, index);
+            } else {
+                labels = labels.clone();
+                children = children.clone();
+
+                if (child.terminals.length == 0 && child.children.length == 1) {
+                    labels[index] = labels[index] + child.labels[0];
+                    child = child.children[0];
+                }
+
+                children[index] = child;
+            }
+        }
+
+        if (terminals.length == 0 && children.length == 0) {
+            return null;
+        }
+
+        SuggestionEntry[] top = node.top;
+
+        if (Arrays.asList(top).contains(entry)) {
+            List<SuggestionEntry> candidates = new ArrayList<>(Arrays.asList(terminals));
+
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+
+            top = rank(candidates.toArray(new SuggestionEntry[0]), topK);
+        }
+
+        return new Node(firstChars, labels, children, terminals, top);
+    }
+
+    private static SuggestionEntry[] rank(SuggestionEntry[] candidates, int topK) {
+        return Arrays.stream(candidates)
+                .distinct()
+                .sorted(BY_POPULARITY)
+                .limit(topK)
+                .toArray(SuggestionEntry[]::new);
+    }
+
+    private static SuggestionEntry[] concat(SuggestionEntry[] entries, SuggestionEntry entry) {
+        SuggestionEntry[] result = Arrays.copyOf(entries, entries.length + 1);
+        result[entries.length] = entry;
+        return result;
+    }
+
+    private static char[] removeAt(char[] array, int index) {
+        char[] result = new char[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private static <T> T[] removeAt(T[] array, int index) {
+        T[] result = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    /**
+     * Builds the node for keys[from, to), which all share their first {@code depth} characters.
+     */
+    private static Node buildNode(List<Key> keys, int from, int to, int depth, int topK) {
+        List<SuggestionEntry> candidates = new ArrayList<>();
+        int i = from;
+
+        while (i < to && keys.get(i).text().length() == depth) {
+            candidates.add(keys.get(i).entry());
+            i++;
+        }
+
+        SuggestionEntry[] terminals = candidates.toArray(new SuggestionEntry[0]);
+
+        List<Character> firstChars = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+
+        while (i < to) {
+            char first = keys.get(i).text().charAt(depth);
+            int end = i;
+
+            while (end < to && keys.get(end).text().charAt(depth) == first) {
+                end++;
+            }
+
+            int commonLength = commonPrefixLength(keys.get(i).text(), keys.get(end - 1).text());
+            Node child = buildNode(keys, i, end, commonLength, topK);
+
+            firstChars.add(first);
+            labels.add(keys.get(i).text().substring(depth, commonLength));
+            children.add(child);
+            candidates.addAll(Arrays.asList(child.top));
+
+            i = end;
+        }
+
+        char[] chars = new char[firstChars.size()];
+
+        for (int c = 0; c < chars.length; c++) {
+            chars[c] = firstChars.get(c);
+        }
+
+        SuggestionEntry[] top = rank(candidates.toArray(new SuggestionEntry[0]), topK);
+
+        return new Node(chars, labels.toArray(new String[0]), children.toArray(new Node[0]), terminals, top);
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private record Key(String text, SuggestionEntry entry) {
+    }
+
+    /**
+     * {@code terminals} are the entries whose key ends exactly at this node; {@code top} is the best
+     * of the whole subtree.
+     */
+    private record Node(char[] firstChars, String[] labels, Node[] children, SuggestionEntry[] terminals, SuggestionEntry[] top) {
+        static final Node EMPTY = new Node(new char[0], new String[0], new Node[0], new SuggestionEntry[0], new SuggestionEntry[0]);
+
+        /**
+         * Copy with the child at {@code index} replaced, or inserted there when {@code insert} is set.
+         */
+        Node withChild(int index, String label, Node child, boolean insert, SuggestionEntry[] newTop) {
+            int length = firstChars.length + (insert ? 1 : 0);
+            char[] chars = new char[length];
+            String[] newLabels = new String[length];
+            Node[] newChildren = new Node[length];
+            int skip = insert ? 1 : 0;
+
+            System.arraycopy(firstChars, 0, chars, 0, index);
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firstChars, index + 1 - skip, chars, index + 1, length - index - 1);
+            System.arraycopy(labels, index + 1 - skip, newLabels, index + 1, length - index - 1);
+            System.arraycopy(children, index + 1 - skip, newChildren, index + 1, length - index - 1);
+
+            chars[index] = label.charAt(0);
+            newLabels[index] = label;
+            newChildren[index] = child;
+
+            return new Node(chars, newLabels, newChildren, terminals, newTop);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.eternify.backend.suggest.model;
+
+public record SuggestionEntry(String id, String title, SuggestionKind kind, long score) {
+    public SuggestionEntry withScore(long newScore) {
+        return new SuggestionEntry(id, title, kind, newScore);
+    }
+}
@@ -0,0 +1,8 @@
+package com.eternify.backend.suggest.model;
+
+public enum SuggestionKind {
+    SONG,
+    ALBUM,
+    ARTIST,
+    TAG
+}
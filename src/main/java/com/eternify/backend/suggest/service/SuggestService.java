@@ -0,0 +1,15 @@
+package com.eternify.backend.suggest.service;
+
+import com.eternify.backend.suggest.dto.SuggestionDTO;
+import com.eternify.backend.suggest.model.SuggestionKind;
+
+import java.util.List;
+
+public interface SuggestService {
+    List<SuggestionDTO> suggest(String prefix, int limit);
+
+    void upsert(SuggestionKind kind, String id, String title);
+    void remove(SuggestionKind kind, String id);
+
+    void reload();
+}
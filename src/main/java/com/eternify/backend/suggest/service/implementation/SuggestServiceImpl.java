@@ -0,0 +1,248 @@
+package com.eternify.backend.suggest.service.implementation;
+
+import com.eternify.backend.song.model.AlbumType;
+import com.eternify.backend.song.model.Status;
+import com.eternify.backend.suggest.dto.SuggestionDTO;
+import com.eternify.backend.suggest.index.SuggestionTrie;
+import com.eternify.backend.suggest.model.SuggestionEntry;
+import com.eternify.backend.suggest.model.SuggestionKind;
+import com.eternify.backend.suggest.service.SuggestService;
+import com.eternify.backend.user.model.Role;
+import com.eternify.backend.util.UserUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Serves search-as-you-type suggestions from a {@link SuggestionTrie}. Catalogue mutations patch
+ * the trie in place of the changed entry only and swap the new version in, so readers never wait
+ * on a writer. Popularity scores (favourites for songs and albums, public song counts for artists
+ * and tags) are recomputed by a periodic full reload from the database; mutations made while that
+ * reload is reading are logged and win over the values it read.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuggestServiceImpl implements SuggestService {
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${suggest.top-k}")
+    private int topK;
+
+    private final Object lock = new Object();
+    private final Map<String, SuggestionEntry> entries = new HashMap<>();
+    private Set<String> changedDuringReload;
+    private volatile SuggestionTrie trie = SuggestionTrie.EMPTY;
+
+    @PostConstruct
+    public void initTrie() {
+        trie = SuggestionTrie.build(List.of(), topK);
+    }
+
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        int size = limit <= 0 || limit > topK ? topK : limit;
+
+        return trie.suggest(prefix, size).stream()
+                .map(entry -> SuggestionDTO.builder()
+                        .id(entry.id())
+                        .title(entry.title())
+                        .kind(entry.kind().toString())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public void upsert(SuggestionKind kind, String id, String title) {
+        if (id == null || title == null || title.isBlank()) {
+            remove(kind, id);
+            return;
+        }
+
+        String key = key(kind, id);
+
+        synchronized (lock) {
+            SuggestionEntry existing = entries.get(key);
+            SuggestionEntry entry = new SuggestionEntry(id, title, kind, existing == null ? 0 : existing.score());
+
+            if (entry.equals(existing)) {
+                return;
+            }
+
+            entries.put(key, entry);
+            trie = (existing == null ? trie : trie.without(existing)).with(entry);
+            logChange(key);
+        }
+    }
+
+    @Override
+    public void remove(SuggestionKind kind, String id) {
+        if (id == null) {
+            return;
+        }
+
+        String key = key(kind, id);
+
+        synchronized (lock) {
+            SuggestionEntry existing = entries.remove(key);
+
+            if (existing != null) {
+                trie = trie.without(existing);
+            }
+
+            logChange(key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Error loading suggestions: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${suggest.reload-interval-ms}", initialDelayString = "${suggest.reload-interval-ms}")
+    public void poll() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Error reloading suggestions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads every suggestion from the database without holding the lock, then swaps the result in.
+     * Keys upserted or removed during the read keep their in-memory state (with the freshly counted
+     * score, if the read saw them), so the slow read neither loses nor resurrects those changes.
+     */
+    @Override
+    public void reload() {
+        synchronized (lock) {
+            changedDuringReload = new HashSet<>();
+        }
+
+        try {
+            Map<String, SuggestionEntry> loaded = read();
+
+            synchronized (lock) {
+                for (String key : changedDuringReload) {
+                    SuggestionEntry current = entries.get(key);
+                    SuggestionEntry read = loaded.get(key);
+
+                    if (current == null) {
+                        loaded.remove(key);
+                    } else {
+                        loaded.put(key, read == null ? current : current.withScore(read.score()));
+                    }
+                }
+
+                entries.clear();
+                entries.putAll(loaded);
+                trie = SuggestionTrie.build(new ArrayList<>(loaded.values()), topK);
+            }
+
+            log.info("Loaded {} suggestions", loaded.size());
+        } finally {
+            synchronized (lock) {
+                changedDuringReload = null;
+            }
+        }
+    }
+
+    private Map<String, SuggestionEntry> read() {
+        Map<String, SuggestionEntry> loaded = new HashMap<>();
+
+        Map<String, Long> songFavorites = countBy("z_user", "userPref.favoriteSongs", null);
+        Query songs = new Query(Criteria.where("status").is(Status.PUBLIC.toString()));
+        songs.fields().include("title");
+        load(loaded, songs, "song", "title", SuggestionKind.SONG, songFavorites);
+
+        Map<String, Long> albumFavorites = countBy("z_user", "userPref.favoriteAlbums", null);
+        Query albums = new Query(Criteria.where("status").is(Status.PUBLIC.toString())
+                .and("albumType").in(AlbumType.ARTIST_ALBUM.toString(), AlbumType.PLAYLIST.toString()));
+        albums.fields().include("name");
+        load(loaded, albums, "album", "name", SuggestionKind.ALBUM, albumFavorites);
+
+        Criteria publicSongs = Criteria.where("status").is(Status.PUBLIC.toString());
+        Map<String, Long> songsPerArtist = countBy("song", "artistId", publicSongs);
+        Query artists = new Query(Criteria.where("role").is(Role.ARTIST.toString()));
+        artists.fields().include("firstName").include("lastName");
+
+        for (Document artist : mongoTemplate.find(artists, Document.class, "z_user")) {
+            String id = artist.get("_id").toString();
+            String name = UserUtils.displayName(artist.getString("firstName"), artist.getString("lastName"));
+
+            if (name != null) {
+                loaded.put(key(SuggestionKind.ARTIST, id), new SuggestionEntry(id, name, SuggestionKind.ARTIST, songsPerArtist.getOrDefault(id, 0L)));
+            }
+        }
+
+        Map<String, Long> songsPerTag = countBy("song", "tags", publicSongs);
+        load(loaded, new Query(), "tag", "name", SuggestionKind.TAG, songsPerTag);
+
+        return loaded;
+    }
+
+    private void logChange(String key) {
+        if (changedDuringReload != null) {
+            changedDuringReload.add(key);
+        }
+    }
+
+    private void load(Map<String, SuggestionEntry> loaded, Query query, String collection, String titleField,
+                      SuggestionKind kind, Map<String, Long> scores) {
+        for (Document document : mongoTemplate.find(query, Document.class, collection)) {
+            String id = document.get("_id").toString();
+            String title = document.getString(titleField);
+
+            if (title != null && !title.isBlank()) {
+                loaded.put(key(kind, id), new SuggestionEntry(id, title, kind, scores.getOrDefault(id, 0L)));
+            }
+        }
+    }
+
+    /**
+     * Counts occurrences of each value of a (possibly array) field with a single aggregation.
+     */
+    private Map<String, Long> countBy(String collection, String field, Criteria match) {
+        List<AggregationOperation> stages = new ArrayList<>();
+
+        if (match != null) {
+            stages.add(Aggregation.match(match));
+        }
+
+        stages.add(Aggregation.unwind(field));
+        stages.add(Aggregation.group(field).count().as("count"));
+
+        Map<String, Long> counts = new HashMap<>();
+
+        for (Document result : mongoTemplate.aggregate(Aggregation.newAggregation(stages), collection, Document.class)) {
+            Object id = result.get("_id");
+
+            if (id != null) {
+                counts.put(id.toString(), ((Number) result.get("count")).longValue());
+            }
+        }
+
+        return counts;
+    }
+
+    private static String key(SuggestionKind kind, String id) {
+        return kind + ":" + id;
+    }
+}
@@ -0,0 +1,63 @@
+package com.eternify.backend.user.cache;
+
+import com.eternify.backend.user.model.CustomUserDetails;
+import com.eternify.backend.user.model.User;
+import com.eternify.backend.user.repository.UserRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived cache of authenticated principals keyed by JWT subject (the email). Entries hold a
+ * slim projection of the user (id, email, role, active) so authorizing a request never
+ * deserializes preferences; code that needs anything else must load the user itself. Entries are
+ * invalidated explicitly whenever the email, password, role or active flag changes, and expire
+ * after a short TTL to bound staleness for changes made by other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+    private final UserRepository userRepository;
+
+    @Value("${principal-cache.ttl-ms}")
+    private long ttlMs;
+
+    @Value("${principal-cache.max-size}")
+    private long maxSize;
+
+    private Cache<String, CustomUserDetails> cache;
+
+    @PostConstruct
+    public void initCache() {
+        cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public CustomUserDetails get(String email) {
+        CustomUserDetails cached = cache.getIfPresent(email);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        User user = userRepository.findPrincipalByEmail(email).orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        CustomUserDetails principal = new CustomUserDetails(user, true, true, true, true);
+        cache.put(email, principal);
+
+        return principal;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+}
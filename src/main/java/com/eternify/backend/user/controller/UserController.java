@@ -2,6 +2,7 @@ package com.eternify.backend.user.controller;
 
 
 import com.eternify.backend.common.api.ApiResponse;
+import com.eternify.backend.user.dto.ArtistSummary;
 import com.eternify.backend.user.dto.ChangePasswordRequest;
 import com.eternify.backend.user.dto.CreateNewPasswordRequest;
 import com.eternify.backend.user.dto.UserEditDTO;
@@ -79,7 +80,7 @@ public class UserController {
 
     @GetMapping("/find_all_artists")
     @ApiResponses({
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = User.class), mediaType = "application/json") }),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = { @Content(schema = @Schema(implementation = ArtistSummary.class), mediaType = "application/json") }),
     })
     public ResponseEntity<ApiResponse> findAllArtists(@RequestHeader("X-auth-token") String token) {
         try {
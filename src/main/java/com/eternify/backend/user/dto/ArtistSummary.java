@@ -0,0 +1,32 @@
+package com.eternify.backend.user.dto;
+
+import com.eternify.backend.user.model.User;
+import com.eternify.backend.util.UserUtils;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What song and album responses expose about an artist or album owner. Load the backing users
+ * with {@link #FIELDS} projected so credentials and preferences never leave the database.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArtistSummary {
+    public static final String[] FIELDS = { "firstName", "lastName", "persistentAvatarId" };
+
+    private String id;
+    private String displayName;
+    private String persistentAvatarId;
+
+    public static ArtistSummary of(User user) {
+        return ArtistSummary.builder()
+                .id(user.getId())
+                .displayName(UserUtils.displayName(user.getFirstName(), user.getLastName()))
+                .persistentAvatarId(user.getPersistentAvatarId())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.eternify.backend.user.repository;
 
 import com.eternify.backend.user.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,5 +10,14 @@ import java.util.Optional;
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
 
+    @Query(value = "{ 'email': ?0 }", fields = "{ 'email': 1, 'role': 1, 'active': 1 }")
+    Optional<User> findPrincipalByEmail(String email);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'userPref': 1 }")
+    Optional<User> findUserPrefById(String id);
+
     List<User> findAllByRole(String role);
+
+    @Query(value = "{ 'role': ?0 }", fields = "{ 'firstName': 1, 'lastName': 1, 'persistentAvatarId': 1 }")
+    List<User> findSummariesByRole(String role);
 }
@@ -1,7 +1,7 @@
 package com.eternify.backend.user.service;
 
 
-
+import com.eternify.backend.user.dto.ArtistSummary;
 import com.eternify.backend.user.dto.ChangePasswordRequest;
 import com.eternify.backend.user.dto.CreateNewPasswordRequest;
 import com.eternify.backend.user.dto.UserEditDTO;
@@ -37,5 +37,5 @@ public interface UserService extends UserDetailsService {
 
     void editUser(UserEditDTO dto) throws ParseException;
 
-    List<User> findAllArtists();
+    List<ArtistSummary> findAllArtists();
 }
@@ -5,6 +5,10 @@ import com.eternify.backend.common.exception.BusinessException;
 import com.eternify.backend.mail.model.MailType;
 import com.eternify.backend.mail.service.mail_template.MailTemplateService;
 import com.eternify.backend.mail.service.send_mail.SendMailService;
+import com.eternify.backend.suggest.model.SuggestionKind;
+import com.eternify.backend.suggest.service.SuggestService;
+import com.eternify.backend.user.cache.PrincipalCache;
+import com.eternify.backend.user.dto.ArtistSummary;
 import com.eternify.backend.user.dto.ChangePasswordRequest;
 import com.eternify.backend.user.dto.CreateNewPasswordRequest;
 import com.eternify.backend.user.model.CustomUserDetails;
@@ -15,6 +19,7 @@ import com.eternify.backend.user.model.User;
 import com.eternify.backend.user.repository.UserRepository;
 import com.eternify.backend.user.service.UserService;
 import com.eternify.backend.util.RandomUtils;
+import com.eternify.backend.util.UserUtils;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.annotation.Primary;
@@ -38,6 +43,8 @@ public class UserServiceImpl implements UserService {
     private final MailTemplateService mailTemplateService;
     private final SendMailService sendMailService;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final SuggestService suggestService;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -122,17 +129,21 @@ public class UserServiceImpl implements UserService {
         } else {
             user.setPassword(bCryptPasswordEncoder.encode(changePasswordRequest.getNewPassword()));
             userRepository.save(user);
+            principalCache.invalidate(user.getEmail());
         }
     }
 
     @Override
     public void changeEmail(String newEmail) {
         User user = getCurrentUser();
+        String oldEmail = user.getEmail();
         user.setEmail(newEmail);
         user.setEmailValidated(false);
         user.setConfirmEmailToken(null);
         user.setConfirmEmailTokenExpire(0);
         userRepository.save(user);
+        principalCache.invalidate(oldEmail);
+        principalCache.invalidate(newEmail);
     }
 
     static final String CONFIRM_EMAIL_SUBJECT = "QAirline - Confirm Email";
@@ -161,6 +172,8 @@ public class UserServiceImpl implements UserService {
         user.setEmailValidated(true);
         user.setRole(Role.ARTIST.toString());
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
+        suggestService.upsert(SuggestionKind.ARTIST, user.getId(), UserUtils.displayName(user.getFirstName(), user.getLastName()));
     }
 
     @Override
@@ -168,10 +181,15 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * The principal only carries a slim projection of the user (see {@link PrincipalCache}), so the
+     * full document is loaded here for callers that read or save other fields.
+     */
     @Override
     public User getCurrentUser() {
         CustomUserDetails customUserDetails = (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return customUserDetails.getUser();
+        return userRepository.findById(customUserDetails.getUser().getId())
+                .orElseThrow(() -> new BusinessException(HttpStatus.NOT_FOUND, "User not found"));
     }
 
     @Override
@@ -187,6 +205,10 @@ public class UserServiceImpl implements UserService {
         user.setPersistentAvatarId(dto.getPersistentAvatarId());
 
         userRepository.save(user);
+
+        if (Role.ARTIST.toString().equals(user.getRole())) {
+            suggestService.upsert(SuggestionKind.ARTIST, user.getId(), UserUtils.displayName(user.getFirstName(), user.getLastName()));
+        }
     }
 
     @Override
@@ -213,11 +235,12 @@ public class UserServiceImpl implements UserService {
         user.setResetPasswordToken(null);
         user.setResetPasswordTokenExpire(-1);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
     }
 
     @Override
-    public List<User> findAllArtists() {
-        return userRepository.findAllByRole(Role.ARTIST.toString());
+    public List<ArtistSummary> findAllArtists() {
+        return userRepository.findSummariesByRole(Role.ARTIST.toString()).stream().map(ArtistSummary::of).toList();
     }
 
     private static String extractUserId(String token) {
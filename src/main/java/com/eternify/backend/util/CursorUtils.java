@@ -0,0 +1,118 @@
+package com.eternify.backend.util;
+
+import com.eternify.backend.common.api.CursorPage;
+import com.eternify.backend.common.exception.BusinessException;
+import lombok.experimental.UtilityClass;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@UtilityClass
+public class CursorUtils {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static int pageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    public static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    /**
+     * Runs {@code query} as one keyset page ordered by {@code _id}. The page is cut by Mongo itself,
+     * so at most {@code pageSize(limit) + 1} documents are ever read; the extra one only tells us
+     * whether a next page exists.
+     */
+    public static <T> CursorPage<T> findPage(MongoTemplate mongoTemplate, Query query, Class<T> type,
+                                             Function<T, String> idGetter, String cursor, int limit) {
+        int pageSize = pageSize(limit);
+
+        if (cursor != null && !cursor.isEmpty()) {
+            String lastId = decode(cursor);
+
+            if (!ObjectId.isValid(lastId)) {
+                throw new BusinessException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(lastId)));
+        }
+
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(pageSize + 1);
+
+        List<T> results = new ArrayList<>(mongoTemplate.find(query, type));
+        String nextCursor = null;
+
+        if (results.size() > pageSize) {
+            results = new ArrayList<>(results.subList(0, pageSize));
+            nextCursor = encode(idGetter.apply(results.get(pageSize - 1)));
+        }
+
+        return new CursorPage<>(results, nextCursor);
+    }
+
+    /**
+     * Decodes an offset cursor as produced by {@link #slice} and {@link #offsetCursor}; no cursor
+     * means the first page.
+     */
+    public static int offset(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+
+        int offset;
+
+        try {
+            offset = Integer.parseInt(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        if (offset < 0) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        return offset;
+    }
+
+    public static String offsetCursor(int offset) {
+        return encode(String.valueOf(offset));
+    }
+
+    /**
+     * Cuts one page out of a list that had to be ranked in memory. The cursor is the offset of the
+     * next page.
+     */
+    public static <T> CursorPage<T> slice(List<T> items, String cursor, int limit) {
+        int offset = offset(cursor);
+        int end = Math.min(items.size(), offset + pageSize(limit));
+
+        if (offset >= end) {
+            return new CursorPage<>();
+        }
+
+        return new CursorPage<>(new ArrayList<>(items.subList(offset, end)), end < items.size() ? offsetCursor(end) : null);
+    }
+}
@@ -0,0 +1,243 @@
+package com.eternify.backend.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fractional-index keys for ordered collections. Keys compare as plain strings (which is also how
+ * Mongo orders them), and a new key can always be generated between any two existing ones, so
+ * moving an entry only rewrites that entry's key.
+ * <p>
+ * A key is an integer part followed by an optional fraction. The head character of the integer
+ * part encodes its length ({@code a} = one digit, {@code b} = two, ...), so appending repeatedly
+ * just increments the integer and key length grows logarithmically rather than linearly. Fractions
+ * never end in the zero digit, which keeps room below every key.
+ */
+@UtilityClass
+public class PositionKeys {
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final char ZERO = DIGITS.charAt(0);
+    private static final String SMALLEST_INTEGER = "A" + String.valueOf(ZERO).repeat(26);
+
+    /**
+     * A key strictly between {@code before} and {@code after}; either may be null for an open end.
+     */
+    public static String between(String before, String after) {
+        if (before != null) {
+            validate(before);
+        }
+
+        if (after != null) {
+            validate(after);
+        }
+
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException(before + " is not before " + after);
+        }
+
+        if (before == null) {
+            if (after == null) {
+                return "a" + ZERO;
+            }
+
+            String integerAfter = integerPart(after);
+            String fractionAfter = after.substring(integerAfter.length());
+
+            if (integerAfter.equals(SMALLEST_INTEGER)) {
+                return integerAfter + midpoint("", fractionAfter);
+            }
+
+            if (integerAfter.compareTo(after) < 0) {
+                return integerAfter;
+            }
+
+            String decremented = decrement(integerAfter);
+
+            if (decremented == null) {
+                throw new IllegalStateException("Cannot generate a key before " + after);
+            }
+
+            return decremented;
+        }
+
+        String integerBefore = integerPart(before);
+        String fractionBefore = before.substring(integerBefore.length());
+
+        if (after == null) {
+            String incremented = increment(integerBefore);
+
+            return incremented == null ? integerBefore + midpoint(fractionBefore, null) : incremented;
+        }
+
+        String integerAfter = integerPart(after);
+        String fractionAfter = after.substring(integerAfter.length());
+
+        if (integerBefore.equals(integerAfter)) {
+            return integerBefore + midpoint(fractionBefore, fractionAfter);
+        }
+
+        String incremented = increment(integerBefore);
+
+        if (incremented == null) {
+            throw new IllegalStateException("Cannot generate a key after " + before);
+        }
+
+        if (incremented.compareTo(after) < 0) {
+            return incremented;
+        }
+
+        return integerBefore + midpoint(fractionBefore, null);
+    }
+
+    /**
+     * {@code count} ascending keys strictly after {@code before} (null for an empty list), as used
+     * for appending a batch.
+     */
+    public static List<String> after(String before, int count) {
+        List<String> keys = new ArrayList<>(count);
+        String previous = before;
+
+        for (int i = 0; i < count; i++) {
+            previous = between(previous, null);
+            keys.add(previous);
+        }
+
+        return keys;
+    }
+
+    private static String midpoint(String before, String after) {
+        if (after != null) {
+            int shared = 0;
+
+            while (shared < after.length() && charAt(before, shared) == after.charAt(shared)) {
+                shared++;
+            }
+
+            if (shared > 0) {
+                return after.substring(0, shared) + midpoint(before.substring(Math.min(shared, before.length())), after.substring(shared));
+            }
+        }
+
+        int digitBefore = before.isEmpty() ? 0 : DIGITS.indexOf(before.charAt(0));
+        int digitAfter = after != null ? DIGITS.indexOf(after.charAt(0)) : DIGITS.length();
+
+        if (digitAfter - digitBefore > 1) {
+            return String.valueOf(DIGITS.charAt(Math.round(0.5f * (digitBefore + digitAfter))));
+        }
+
+        if (after != null && after.length() > 1) {
+            return after.substring(0, 1);
+        }
+
+        return DIGITS.charAt(digitBefore) + midpoint(before.isEmpty() ? "" : before.substring(1), null);
+    }
+
+    private static char charAt(String value, int index) {
+        return index < value.length() ? value.charAt(index) : ZERO;
+    }
+
+    private static int integerLength(char head) {
+        if (head >= 'a' && head <= 'z') {
+            return head - 'a' + 2;
+        }
+
+        if (head >= 'A' && head <= 'Z') {
+            return 'Z' - head + 2;
+        }
+
+        throw new IllegalArgumentException("Invalid position key head " + head);
+    }
+
+    private static String integerPart(String key) {
+        int length = integerLength(key.charAt(0));
+
+        if (length > key.length()) {
+            throw new IllegalArgumentException("Invalid position key " + key);
+        }
+
+        return key.substring(0, length);
+    }
+
+    private static void validate(String key) {
+        if (key.isEmpty() || key.equals(SMALLEST_INTEGER)) {
+            throw new IllegalArgumentException("Invalid position key " + key);
+        }
+
+        String fraction = key.substring(integerPart(key).length());
+
+        if (!fraction.isEmpty() && fraction.charAt(fraction.length() - 1) == ZERO) {
+            throw new IllegalArgumentException("Invalid position key " + key);
+        }
+    }
+
+    private static String increment(String integer) {
+        char head = integer.charAt(0);
+        StringBuilder digits = new StringBuilder(integer.substring(1));
+
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = DIGITS.indexOf(digits.charAt(i)) + 1;
+
+            if (digit < DIGITS.length()) {
+                digits.setCharAt(i, DIGITS.charAt(digit));
+                return head + digits.toString();
+            }
+
+            digits.setCharAt(i, ZERO);
+        }
+
+        if (head == 'Z') {
+            return "a" + ZERO;
+        }
+
+        if (head == 'z') {
+            return null;
+        }
+
+        char nextHead = (char) (head + 1);
+
+        if (nextHead > 'a') {
+            digits.append(ZERO);
+        } else {
+            digits.deleteCharAt(digits.length() - 1);
+        }
+
+        return nextHead + digits.toString();
+    }
+
+    private static String decrement(String integer) {
+        char head = integer.charAt(0);
+        char largest = DIGITS.charAt(DIGITS.length() - 1);
+        StringBuilder digits = new StringBuilder(integer.substring(1));
+
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = DIGITS.indexOf(digits.charAt(i)) - 1;
+
+            if (digit >= 0) {
+                digits.setCharAt(i, DIGITS.charAt(digit));
+                return head + digits.toString();
+            }
+
+            digits.setCharAt(i, largest);
+        }
+
+        if (head == 'a') {
+            return "Z" + largest;
+        }
+
+        if (head == 'A') {
+            return null;
+        }
+
+        char previousHead = (char) (head - 1);
+
+        if (previousHead < 'Z') {
+            digits.append(largest);
+        } else {
+            digits.deleteCharAt(digits.length() - 1);
+        }
+
+        return previousHead + digits.toString();
+    }
+}
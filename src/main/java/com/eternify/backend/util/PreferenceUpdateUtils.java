@@ -0,0 +1,49 @@
+package com.eternify.backend.util;
+
+import com.eternify.backend.song.model.Song;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds targeted updates for the embedded {@code userPref} of a {@code z_user} document, so
+ * preference changes are applied atomically by Mongo instead of by rewriting the whole user.
+ */
+@UtilityClass
+public class PreferenceUpdateUtils {
+    public static final String TAG_FREQUENCY = "userPref.tagFrequency";
+    public static final String CATEGORY_FREQUENCY = "userPref.categoryFrequency";
+    public static final String COUNTRY_FREQUENCY = "userPref.countryFrequency";
+    public static final String FAVORITE_SONGS = "userPref.favoriteSongs";
+    public static final String FAVORITE_ALBUMS = "userPref.favoriteAlbums";
+
+    /**
+     * {@code $inc} of the tag, category and country frequencies of every song by {@code weight}.
+     * Repeated keys are summed first, since an {@link Update} holds one value per path.
+     */
+    public static Update frequencyIncrements(Collection<Song> songs, int weight) {
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+
+        for (Song song : songs) {
+            for (String tagId : song.getTags()) {
+                deltas.merge(TAG_FREQUENCY + "." + tagId, weight, Integer::sum);
+            }
+
+            if (song.getCategoryId() != null) {
+                deltas.merge(CATEGORY_FREQUENCY + "." + song.getCategoryId(), weight, Integer::sum);
+            }
+
+            if (song.getCountryId() != null) {
+                deltas.merge(COUNTRY_FREQUENCY + "." + song.getCountryId(), weight, Integer::sum);
+            }
+        }
+
+        Update update = new Update();
+        deltas.forEach(update::inc);
+
+        return update;
+    }
+}
@@ -0,0 +1,213 @@
+package com.eternify.backend.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation and tokenisation for title search. Text is lower-cased and stripped of
+ * diacritics (including the Vietnamese "đ", which has no decomposition) so that "Sơn Tùng" and
+ * "son tung" produce the same keys.
+ */
+@UtilityClass
+public class SearchTextUtils {
+    public static final int MAX_PREFIX_LENGTH = 20;
+    public static final int SEARCH_CANDIDATE_LIMIT = 200;
+    private static final int MAX_WORDS = 16;
+    private static final int GRAM_LENGTH = 3;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Sort SHORTEST_FIRST = Sort.by(Sort.Direction.ASC, "searchLength").and(Sort.by(Sort.Direction.ASC, "_id"));
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT).replace('đ', 'd');
+        String stripped = MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+
+        return NON_ALPHANUMERIC.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    public static List<String> words(String text) {
+        String normalized = normalize(text);
+
+        if (normalized.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return Arrays.stream(normalized.split(" ")).distinct().limit(MAX_WORDS).toList();
+    }
+
+    /**
+     * Every leading substring of every word, used to answer "some word starts with ..." queries
+     * from a multikey index.
+     */
+    public static List<String> prefixes(String text) {
+        Set<String> keys = new LinkedHashSet<>();
+
+        for (String word : words(text)) {
+            for (int i = 1; i <= Math.min(word.length(), MAX_PREFIX_LENGTH); i++) {
+                keys.add(word.substring(0, i));
+            }
+        }
+
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Every three-character substring of every word, used to find matches in the middle of a word.
+     */
+    public static List<String> trigrams(String text) {
+        return trigramsOf(words(text));
+    }
+
+    public static List<String> queryPrefixes(List<String> queryWords) {
+        return queryWords.stream()
+                .map(word -> word.length() > MAX_PREFIX_LENGTH ? word.substring(0, MAX_PREFIX_LENGTH) : word)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Trigrams a matching document must contain, taken from the query words long enough to have
+     * any; empty when none is.
+     */
+    public static List<String> queryTrigrams(List<String> queryWords) {
+        return trigramsOf(queryWords.stream().filter(word -> word.length() >= GRAM_LENGTH).toList());
+    }
+
+    public static boolean containsAll(String text, List<String> queryWords) {
+        String normalized = normalize(text);
+
+        return queryWords.stream().allMatch(normalized::contains);
+    }
+
+    /**
+     * 0 when the text starts with the query, 1 when a later word starts with it, 2 otherwise.
+     */
+    public static int rank(String text, String normalizedQuery) {
+        return rankNormalized(normalize(text), normalizedQuery);
+    }
+
+    private static int rankNormalized(String normalized, String normalizedQuery) {
+        if (normalized.startsWith(normalizedQuery)) {
+            return 0;
+        }
+
+        if ((" " + normalized).contains(" " + normalizedQuery)) {
+            return 1;
+        }
+
+        return 2;
+    }
+
+    /**
+     * Leading substrings of the whole normalised text, used to find texts that start with the query
+     * as a phrase.
+     */
+    public static List<String> leadingPrefixes(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+
+        for (int i = 1; i <= Math.min(normalized.length(), MAX_PREFIX_LENGTH); i++) {
+            keys.add(normalized.substring(0, i));
+        }
+
+        return keys;
+    }
+
+    public static int searchLength(String text) {
+        return normalize(text).length();
+    }
+
+    /**
+     * Looks documents up through their {@code searchLeading}, {@code searchPrefixes} and
+     * {@code searchTrigrams} multikey indexes instead of scanning with a regex, one tier per rank:
+     * texts starting with the query, texts with a word starting with it, then infix matches. Each
+     * tier is read shortest text first, so the candidate pool holds the best matches of every tier
+     * however common the query is. Words too short for trigrams are only checked against the
+     * infix candidates after they are read, and a query made only of such words has no infix tier,
+     * since the prefix tiers already find them. The result is ordered by tier, shorter texts first
+     * within each.
+     */
+    public static <T> List<T> findRanked(MongoTemplate mongoTemplate, Supplier<Query> baseQuery, Class<T> type,
+                                         Function<T, String> idGetter, Function<T, String> textGetter, String text) {
+        List<String> queryWords = words(text);
+
+        if (queryWords.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String normalizedQuery = String.join(" ", queryWords);
+        Map<String, T> candidates = new LinkedHashMap<>();
+
+        Query leadingQuery = baseQuery.get();
+        leadingQuery.addCriteria(Criteria.where("searchLeading").is(truncate(normalizedQuery)));
+        addCandidates(mongoTemplate, leadingQuery, type, idGetter, candidates, document -> true);
+
+        Query prefixQuery = baseQuery.get();
+        prefixQuery.addCriteria(Criteria.where("searchPrefixes").all(queryPrefixes(queryWords)));
+        addCandidates(mongoTemplate, prefixQuery, type, idGetter, candidates, document -> true);
+
+        List<String> grams = queryTrigrams(queryWords);
+
+        if (candidates.size() < SEARCH_CANDIDATE_LIMIT && !grams.isEmpty()) {
+            Query infixQuery = baseQuery.get();
+            infixQuery.addCriteria(Criteria.where("searchTrigrams").all(grams));
+            addCandidates(mongoTemplate, infixQuery, type, idGetter, candidates,
+                    document -> containsAll(textGetter.apply(document), queryWords));
+        }
+
+        Comparator<Ranked<T>> ranking = Comparator.<Ranked<T>>comparingInt(Ranked::rank).thenComparingInt(Ranked::length);
+
+        return candidates.values().stream()
+                .map(document -> {
+                    String normalized = normalize(textGetter.apply(document));
+                    return new Ranked<>(document, rankNormalized(normalized, normalizedQuery), normalized.length());
+                })
+                .sorted(ranking)
+                .map(Ranked::document)
+                .toList();
+    }
+
+    private static <T> void addCandidates(MongoTemplate mongoTemplate, Query query, Class<T> type, Function<T, String> idGetter,
+                                          Map<String, T> candidates, Predicate<T> accept) {
+        query.with(SHORTEST_FIRST).limit(SEARCH_CANDIDATE_LIMIT);
+
+        for (T document : mongoTemplate.find(query, type)) {
+            if (accept.test(document)) {
+                candidates.putIfAbsent(idGetter.apply(document), document);
+            }
+        }
+    }
+
+    private static String truncate(String normalized) {
+        return normalized.length() > MAX_PREFIX_LENGTH ? normalized.substring(0, MAX_PREFIX_LENGTH) : normalized;
+    }
+
+    private record Ranked<T>(T document, int rank, int length) {
+    }
+
+    private static List<String> trigramsOf(List<String> words) {
+        Set<String> grams = new LinkedHashSet<>();
+
+        for (String word : words) {
+            for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+                grams.add(word.substring(i, i + GRAM_LENGTH));
+            }
+        }
+
+        return new ArrayList<>(grams);
+    }
+}
@@ -0,0 +1,15 @@
+package com.eternify.backend.util;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class UserUtils {
+    /**
+     * "First Last" with missing parts dropped, or null when the user has set neither.
+     */
+    public static String displayName(String firstName, String lastName) {
+        String name = ((firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName)).trim();
+
+        return name.isEmpty() ? null : name;
+    }
+}
@@ -0,0 +1,52 @@
+package com.eternify.backend.authentication.jwt;
+
+import com.eternify.backend.authentication.filter.JwtConstant;
+import com.eternify.backend.util.JwtUtils;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenVerifierTest {
+	private final JwtTokenVerifier verifier = new JwtTokenVerifier();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(verifier, "verifiedCacheSize", 16L);
+		ReflectionTestUtils.setField(verifier, "verifiedCacheTtlMs", 60_000L);
+		verifier.initCache();
+	}
+
+	@Test
+	void verifiesTokensIssuedByJwtUtils() {
+		String access = strip(JwtUtils.generateJwtToken("a@b.c"));
+		String refresh = strip(JwtUtils.generateRefreshToken("a@b.c"));
+
+		assertEquals("a@b.c", verifier.verifyAccessToken(access).subject());
+		assertEquals("a@b.c", verifier.verifyAccessToken(access).subject());
+		assertEquals("a@b.c", verifier.verifyRefreshToken(refresh).subject());
+	}
+
+	@Test
+	void rejectsTokensSignedWithTheOtherSecret() {
+		String access = strip(JwtUtils.generateJwtToken("a@b.c"));
+		String refresh = strip(JwtUtils.generateRefreshToken("a@b.c"));
+
+		assertThrows(JwtException.class, () -> verifier.verifyAccessToken(refresh));
+		assertThrows(JwtException.class, () -> verifier.verifyRefreshToken(access));
+	}
+
+	@Test
+	void rejectsTamperedTokens() {
+		String access = strip(JwtUtils.generateJwtToken("a@b.c"));
+		String tampered = access.substring(0, access.length() - 2) + (access.endsWith("A") ? "BB" : "AA");
+
+		assertThrows(JwtException.class, () -> verifier.verifyAccessToken(tampered));
+	}
+
+	private static String strip(String header) {
+		return header.substring(JwtConstant.JWT_TOKEN_PREFIX.length());
+	}
+}
@@ -0,0 +1,104 @@
+package com.eternify.backend.common.database;
+
+import com.eternify.backend.song.facet.AlbumStatsUpdater;
+import com.eternify.backend.song.listen.ListenHistoryStore;
+import com.eternify.backend.song.model.SongTombstone;
+import com.eternify.backend.song.service.HydrationService;
+import com.eternify.backend.song.service.implementation.AlbumServiceImpl;
+import com.eternify.backend.song.service.implementation.SongServiceImpl;
+import com.eternify.backend.song.tombstone.SongReconciler;
+import com.eternify.backend.song.track.AlbumTrackStore;
+import com.eternify.backend.util.CursorUtils;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IndexManagerTest {
+	private static final MongoMappingContext MAPPING = new MongoMappingContext();
+
+	@Test
+	void everyQueryShapeHasAnIndex() {
+		for (IndexManager.QueryShape shape : IndexManager.QUERY_SHAPES) {
+			boolean covered = IndexManager.INDEXES.stream().anyMatch(index -> IndexManager.isCoveredBy(shape, index));
+
+			assertTrue(covered, "No index covers query shape " + shape.name());
+		}
+	}
+
+	@Test
+	void everyQueryTheServicesBuildHasAnIndex() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		HydrationService hydrationService = mock(HydrationService.class);
+		String cursor = CursorUtils.encode(new ObjectId().toHexString());
+
+		SongServiceImpl songService = new SongServiceImpl(mongoTemplate, hydrationService, null, null, null, null, null, null, null, null);
+		AlbumServiceImpl albumService = new AlbumServiceImpl(mongoTemplate, hydrationService, null, null, null, null, null, null);
+
+		for (String page : new String[]{null, cursor}) {
+			songService.searchByCategory("category", page, 0);
+			songService.searchByCountry("country", page, 0);
+			songService.searchByArtist("artist", page, 0);
+			songService.searchByTag(List.of("tag"), page, 0);
+
+			for (String albumType : List.of("ARTIST_ALBUM", "PLAYLIST", "ALL")) {
+				albumService.searchByCategory("category", albumType, page, 0);
+				albumService.searchByCountry("country", albumType, page, 0);
+				albumService.searchByArtist("artist", albumType, page, 0);
+				albumService.searchByTag(List.of("tag"), albumType, page, 0);
+			}
+		}
+
+		songService.searchByName("son tung", null, 0);
+		albumService.searchByName("son tung", "ALL", null, 0);
+		songService.searchByName("em oi", null, 0);
+		albumService.searchByName("em oi", "ALL", null, 0);
+		songService.searchByName("em nguoi", null, 0);
+		albumService.searchByName("em nguoi", "ALL", null, 0);
+
+		new AlbumTrackStore(mongoTemplate).page("album", null, 0);
+		new AlbumTrackStore(mongoTemplate).existing("album", List.of("song"));
+		new ListenHistoryStore(mongoTemplate).page("user", null, 0);
+
+		when(mongoTemplate.find(any(Query.class), eq(SongTombstone.class))).thenReturn(List.of(SongTombstone.builder().id("song").build()));
+		SongReconciler reconciler = new SongReconciler(mongoTemplate, new AlbumStatsUpdater(mongoTemplate));
+		ReflectionTestUtils.setField(reconciler, "batchSize", 10);
+		ReflectionTestUtils.setField(reconciler, "documentsPerSecond", 1000.0);
+		reconciler.initRateLimiter();
+		reconciler.reconcile();
+
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Class<?>> types = ArgumentCaptor.forClass(Class.class);
+		verify(mongoTemplate, atLeastOnce()).find(queries.capture(), types.capture());
+		assertFalse(queries.getAllValues().isEmpty());
+
+		for (int i = 0; i < queries.getAllValues().size(); i++) {
+			Query query = queries.getAllValues().get(i);
+			Document filter = query.getQueryObject();
+
+			if (filter.keySet().equals(Set.of("_id"))) {
+				continue;
+			}
+
+			String collection = MAPPING.getRequiredPersistentEntity(types.getAllValues().get(i)).getCollection();
+			IndexManager.QueryShape shape = new IndexManager.QueryShape("captured", collection, filter, query.getSortObject());
+			boolean covered = IndexManager.INDEXES.stream().anyMatch(index -> IndexManager.isCoveredBy(shape, index));
+
+			assertTrue(covered, "No index covers " + collection + " query " + filter.toJson() + " sorted by " + query.getSortObject().toJson());
+		}
+	}
+
+}
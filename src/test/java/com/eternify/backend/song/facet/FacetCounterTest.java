@@ -0,0 +1,78 @@
+package com.eternify.backend.song.facet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetCounterTest {
+	private static final List<String> KEYS = List.of("a", "b", "c", "d", "e", "f");
+
+	@Test
+	void matchesBruteForceUnderRandomUpdates() {
+		for (long seed = 0; seed < 50; seed++) {
+			Random random = new Random(seed);
+			Map<String, Integer> expected = new HashMap<>();
+
+			for (String key : KEYS) {
+				if (random.nextBoolean()) {
+					expected.put(key, 1 + random.nextInt(5));
+				}
+			}
+
+			FacetCounter counter = new FacetCounter(expected, "a");
+
+			for (int step = 0; step < 2_000; step++) {
+				String key = KEYS.get(random.nextInt(KEYS.size()));
+
+				if (random.nextInt(3) == 0) {
+					counter.increment(key);
+					expected.merge(key, 1, Integer::sum);
+				} else {
+					counter.decrement(key);
+					expected.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+				}
+
+				assertEquals(expected, counter.counts());
+				assertEquals(bruteForceMax(expected), counter.count(counter.main()));
+				assertEquals(expected.isEmpty(), counter.main().isEmpty());
+			}
+		}
+	}
+
+	@Test
+	void keepsMainOnTies() {
+		FacetCounter counter = new FacetCounter(Map.of("a", 2, "b", 1), "a");
+
+		counter.increment("b");
+		assertEquals("a", counter.main());
+
+		counter.increment("b");
+		assertEquals("b", counter.main());
+
+		counter.decrement("b");
+		assertEquals("b", counter.main());
+	}
+
+	@Test
+	void reportsNetChanges() {
+		FacetCounter counter = new FacetCounter(Map.of("a", 2), "a");
+
+		counter.increment("b");
+		counter.decrement("a");
+		counter.decrement("a");
+		counter.increment("b");
+		counter.decrement("b");
+
+		assertEquals(Map.of("a", -2, "b", 1), counter.changes());
+		assertEquals("b", counter.main());
+	}
+
+	private static int bruteForceMax(Map<String, Integer> counts) {
+		return counts.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+	}
+}
@@ -0,0 +1,61 @@
+package com.eternify.backend.song.listen;
+
+import com.eternify.backend.common.database.JobLock;
+import com.eternify.backend.song.model.ListenEvent;
+import com.eternify.backend.song.model.Song;
+import com.eternify.backend.song.service.RecommendationFeedService;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ListenAggregatorTest {
+	private MongoTemplate mongoTemplate;
+	private JobLock jobLock;
+	private ListenAggregator aggregator;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		jobLock = mock(JobLock.class);
+		aggregator = new ListenAggregator(mongoTemplate, mock(RecommendationFeedService.class), mock(ListenHistoryStore.class), jobLock);
+		ReflectionTestUtils.setField(aggregator, "batchSize", 10);
+		ReflectionTestUtils.setField(aggregator, "leaseMs", 1000L);
+	}
+
+	@Test
+	void instancesWithoutTheLeaseDoNothing() {
+		when(jobLock.tryAcquire(anyString(), anyLong())).thenReturn(false);
+
+		aggregator.aggregate();
+
+		verifyNoInteractions(mongoTemplate);
+	}
+
+	@Test
+	void foldedEventsAreDeleted() {
+		when(jobLock.tryAcquire(anyString(), anyLong())).thenReturn(true);
+		when(mongoTemplate.find(any(Query.class), eq(ListenEvent.class)))
+				.thenReturn(List.of(ListenEvent.builder().id("event").userId("user").songId("song").listenedAt(new Date()).build()));
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(List.of(Song.builder().id("song").build()));
+		when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(Class.class))).thenReturn(mock(BulkOperations.class));
+
+		aggregator.aggregate();
+
+		ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).remove(removed.capture(), eq(ListenEvent.class));
+		assertEquals(new Document("_id", new Document("$in", List.of("event"))), removed.getValue().getQueryObject());
+		verify(jobLock).release(anyString());
+	}
+}
@@ -0,0 +1,51 @@
+package com.eternify.backend.song.listen;
+
+import com.eternify.backend.song.model.ListenHistory;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ListenHistoryStoreTest {
+	@Test
+	void trimKeepsTheNewestEntriesWhenTimestampsAreEqual() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(ListenHistory.class))).thenReturn(mock(BulkOperations.class));
+
+		Date now = new Date();
+		List<ListenHistory> history = new ArrayList<>();
+
+		for (int i = 0; i < 600; i++) {
+			history.add(ListenHistory.builder().id(new ObjectId().toHexString()).userId("user").songId("song" + i).listenedAt(now).build());
+		}
+
+		history.sort(Comparator.comparing(ListenHistory::getId).reversed());
+		when(mongoTemplate.findOne(any(Query.class), eq(ListenHistory.class))).thenReturn(history.get(ListenHistoryStore.HISTORY_LIMIT));
+
+		new ListenHistoryStore(mongoTemplate).record("user", Map.of("song0", now));
+
+		ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).remove(removed.capture(), eq(ListenHistory.class));
+
+		ObjectId bound = new ObjectId(history.get(ListenHistoryStore.HISTORY_LIMIT).getId());
+		assertEquals(new Document("userId", "user").append("$or", List.of(
+						new Document("listenedAt", new Document("$lt", now)),
+						new Document("listenedAt", now).append("_id", new Document("$lte", bound)))),
+				removed.getValue().getQueryObject());
+		assertEquals(ListenHistoryStore.HISTORY_LIMIT,
+				history.stream().filter(entry -> new ObjectId(entry.getId()).compareTo(bound) > 0).count());
+	}
+}
@@ -0,0 +1,45 @@
+package com.eternify.backend.song.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopKTest {
+	private static final ScoringFunction SCORING = new PreferenceScoring(
+			Map.of("t1", 5, "t2", 1),
+			Map.of("c1", 3),
+			Map.of("k1", 2));
+
+	@Test
+	void matchesFullSortOnRandomCandidates() {
+		Random random = new Random(42);
+		List<Candidate> candidates = IntStream.range(0, 100_000)
+				.mapToObj(i -> new Candidate("s" + i,
+						random.nextBoolean() ? List.of("t1") : List.of("t2"),
+						random.nextInt(4) == 0 ? "c1" : "c2",
+						random.nextInt(3) == 0 ? "k1" : "k2"))
+				.toList();
+
+		List<String> expected = IntStream.range(0, candidates.size()).boxed()
+				.sorted(Comparator.<Integer>comparingDouble(i -> -SCORING.score(candidates.get(i))).thenComparingInt(i -> i))
+				.limit(50)
+				.map(i -> candidates.get(i).id())
+				.toList();
+
+		assertEquals(expected, TopK.ids(candidates, SCORING, 50));
+	}
+
+	@Test
+	void tiesKeepOfferedOrder() {
+		List<Candidate> candidates = List.of(
+				new Candidate("a", List.of(), null, null),
+				new Candidate("b", List.of("t1"), null, null),
+				new Candidate("c", List.of(), null, null));
+
+		assertEquals(List.of("b", "a"), TopK.ids(candidates, SCORING, 2));
+		assertEquals(List.of(), TopK.ids(candidates, SCORING, 0));
+	}
+}
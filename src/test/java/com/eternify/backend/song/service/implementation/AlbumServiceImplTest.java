@@ -0,0 +1,275 @@
+package com.eternify.backend.song.service.implementation;
+
+import com.eternify.backend.common.exception.BusinessException;
+import com.eternify.backend.song.dto.AddRemoveSongBatchDTO;
+import com.eternify.backend.song.facet.AlbumStatsUpdater;
+import com.eternify.backend.song.model.Album;
+import com.eternify.backend.song.model.AlbumTrack;
+import com.eternify.backend.song.model.Song;
+import com.eternify.backend.song.track.AlbumTrackStore;
+import com.eternify.backend.user.model.CustomUserDetails;
+import com.eternify.backend.user.model.User;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AlbumServiceImplTest {
+	private MongoTemplate mongoTemplate;
+	private AlbumServiceImpl albumService;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		albumService = new AlbumServiceImpl(mongoTemplate, null, null, null, null, new AlbumTrackStore(mongoTemplate), null, new AlbumStatsUpdater(mongoTemplate));
+
+		User owner = new User();
+		owner.setId("owner");
+		owner.setRole("USER");
+		CustomUserDetails principal = new CustomUserDetails(owner, true, true, true, true);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void addBatchQueryCountDoesNotDependOnBatchSize() {
+		assertEquals(queriesForAdd(10), queriesForAdd(500));
+	}
+
+	@Test
+	void removeBatchQueryCountDoesNotDependOnBatchSize() {
+		assertEquals(queriesForRemove(10), queriesForRemove(500));
+	}
+
+	@Test
+	void missingSongFailsBeforeAnyWrite() {
+		givenAlbum(List.of());
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(songs(2));
+
+		assertThrows(BusinessException.class, () -> albumService.addSongBatchToAlbum(batch(3)));
+		verify(mongoTemplate, never()).insertAll(anyCollection());
+		verify(mongoTemplate, never()).updateFirst(any(Query.class), any(), eq(Album.class));
+	}
+
+	@Test
+	void counterUpdateIsUnconditionalAndSurvivesLostFacetRefreshes() {
+		givenAlbum(List.of());
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(songs(1));
+		when(mongoTemplate.findOne(any(Query.class), eq(Album.class))).thenReturn(Album.builder().id("album").version(2L).build());
+		when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Album.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null), UpdateResult.acknowledged(0, 0L, null));
+
+		albumService.addSongBatchToAlbum(batch(1));
+
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, atLeast(2)).updateFirst(queries.capture(), any(UpdateDefinition.class), eq(Album.class));
+		assertEquals(new Document("_id", "album"), queries.getAllValues().get(0).getQueryObject());
+	}
+
+	@Test
+	void partiallyRemovedBatchIsRecountedInsteadOfFailing() {
+		givenAlbum(songs(3).stream().map(song -> AlbumTrack.builder().albumId("album").songId(song.getId()).build()).toList());
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(songs(3));
+		when(mongoTemplate.findOne(any(Query.class), eq(Album.class))).thenReturn(Album.builder().id("album").version(2L).build());
+		when(mongoTemplate.remove(any(Query.class), eq(AlbumTrack.class))).thenReturn(DeleteResult.acknowledged(2));
+
+		albumService.removeSongBatchFromAlbum(batch(3));
+
+		ArgumentCaptor<UpdateDefinition> updates = ArgumentCaptor.forClass(UpdateDefinition.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), updates.capture(), eq(Album.class));
+		assertEquals(3, ((Document) updates.getValue().getUpdateObject().get("$set")).get("songCount"));
+	}
+
+	@Test
+	void concurrentWritersLeaveConsistentStats() throws Exception {
+		FakeAlbum fake = new FakeAlbum();
+		when(mongoTemplate.findById("album", Album.class)).thenAnswer(invocation -> fake.read());
+		when(mongoTemplate.findOne(any(Query.class), eq(Album.class))).thenAnswer(invocation -> fake.read());
+		when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Album.class))).thenAnswer(invocation -> {
+			Query query = invocation.getArgument(0);
+			UpdateDefinition update = invocation.getArgument(1);
+			return fake.update(query.getQueryObject(), update.getUpdateObject());
+		});
+		when(mongoTemplate.find(any(Query.class), eq(AlbumTrack.class))).thenReturn(List.of());
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenAnswer(invocation -> {
+			Query query = invocation.getArgument(0);
+			List<?> ids = (List<?>) ((Document) query.getQueryObject().get("_id")).get("$in");
+			return ids.stream().map(id -> song(Integer.parseInt(id.toString().substring(4)))).toList();
+		});
+
+		int writers = 8;
+		int songsPerWriter = 25;
+		ExecutorService executor = Executors.newFixedThreadPool(writers);
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int w = 0; w < writers; w++) {
+			int writer = w;
+			futures.add(executor.submit(() -> {
+				SecurityContextHolder.getContext().setAuthentication(authentication);
+
+				for (int i = 0; i < songsPerWriter; i++) {
+					AddRemoveSongBatchDTO dto = new AddRemoveSongBatchDTO();
+					dto.setAlbumId("album");
+					dto.setSongs(List.of("song" + (writer * songsPerWriter + i)));
+					albumService.addSongBatchToAlbum(dto);
+				}
+
+				return null;
+			}));
+		}
+
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+
+		executor.shutdown();
+
+		Album album = fake.read();
+		int total = writers * songsPerWriter;
+		assertEquals(total, album.getSongCount());
+		assertEquals(total * 100L, album.getTotalLength());
+		assertEquals(total, album.getCategoryFrequency().values().stream().mapToInt(Integer::intValue).sum());
+		assertEquals(Collections.max(album.getCategoryFrequency().values()), album.getCategoryFrequency().get(album.getMainCategory()));
+		assertEquals(Collections.max(album.getTagFrequency().values()), album.getTagFrequency().get(album.getMainTag()));
+	}
+
+	@Test
+	void statusChangeOnForeignAlbumIsForbiddenWithoutReadingIt() {
+		when(mongoTemplate.exists(any(Query.class), eq(Album.class))).thenReturn(true);
+
+		BusinessException e = assertThrows(BusinessException.class, () -> albumService.openAlbum("album"));
+		assertEquals(HttpStatus.FORBIDDEN, e.getStatus());
+		verify(mongoTemplate, never()).findById(anyString(), eq(Album.class));
+	}
+
+	private int queriesForAdd(int size) {
+		givenAlbum(List.of());
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(songs(size));
+
+		clearInvocations(mongoTemplate);
+		albumService.addSongBatchToAlbum(batch(size));
+		return mockingDetails(mongoTemplate).getInvocations().size();
+	}
+
+	private int queriesForRemove(int size) {
+		givenAlbum(songs(size).stream().map(song -> AlbumTrack.builder().albumId("album").songId(song.getId()).build()).toList());
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(songs(size));
+		when(mongoTemplate.remove(any(Query.class), eq(AlbumTrack.class))).thenReturn(DeleteResult.acknowledged(size));
+
+		clearInvocations(mongoTemplate);
+		albumService.removeSongBatchFromAlbum(batch(size));
+		return mockingDetails(mongoTemplate).getInvocations().size();
+	}
+
+	private void givenAlbum(List<AlbumTrack> tracks) {
+		when(mongoTemplate.findById("album", Album.class)).thenReturn(Album.builder()
+				.id("album")
+				.ownerId("owner")
+				.songCount(tracks.size())
+				.version(1L)
+				.build());
+		when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Album.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+		when(mongoTemplate.find(any(Query.class), eq(AlbumTrack.class))).thenReturn(tracks);
+	}
+
+	private static AddRemoveSongBatchDTO batch(int size) {
+		AddRemoveSongBatchDTO dto = new AddRemoveSongBatchDTO();
+		dto.setAlbumId("album");
+		dto.setSongs(IntStream.range(0, size).mapToObj(i -> "song" + i).toList());
+		return dto;
+	}
+
+	private static List<Song> songs(int count) {
+		return IntStream.range(0, count).mapToObj(i -> Song.builder()
+				.id("song" + i)
+				.categoryId("category" + i % 3)
+				.countryId("country")
+				.tags(List.of("tag"))
+				.length(100)
+				.build()).toList();
+	}
+
+	private static Song song(int i) {
+		return Song.builder()
+				.id("song" + i)
+				.categoryId("category" + i % 3)
+				.countryId("country")
+				.tags(List.of("tag" + i % 5))
+				.length(100)
+				.build();
+	}
+
+	/**
+	 * One album document that applies {@code $inc}, {@code $set} and {@code $unset} atomically, with
+	 * the version condition checked, as the server would.
+	 */
+	private static class FakeAlbum {
+		private final Map<String, Object> fields = new HashMap<>(Map.of("version", 0L, "songCount", 0, "totalLength", 0L));
+
+		synchronized Album read() {
+			return Album.builder()
+					.id("album")
+					.ownerId("owner")
+					.version(((Number) fields.get("version")).longValue())
+					.songCount(((Number) fields.get("songCount")).intValue())
+					.totalLength(((Number) fields.get("totalLength")).longValue())
+					.categoryFrequency(frequency("categoryFrequency."))
+					.countryFrequency(frequency("countryFrequency."))
+					.tagFrequency(frequency("tagFrequency."))
+					.mainCategory((String) fields.get("mainCategory"))
+					.mainCountry((String) fields.get("mainCountry"))
+					.mainTag((String) fields.get("mainTag"))
+					.build();
+		}
+
+		synchronized UpdateResult update(Document query, Document update) {
+			if (query.containsKey("version") && !query.get("version").equals(fields.get("version"))) {
+				return UpdateResult.acknowledged(0, 0L, null);
+			}
+
+			((Document) update.getOrDefault("$inc", new Document())).forEach((path, delta) -> fields.merge(path, delta,
+					(a, b) -> a instanceof Long || b instanceof Long ? ((Number) a).longValue() + ((Number) b).longValue() : ((Number) a).intValue() + ((Number) b).intValue()));
+			((Document) update.getOrDefault("$set", new Document())).forEach(fields::put);
+			((Document) update.getOrDefault("$unset", new Document())).keySet().forEach(fields::remove);
+
+			return UpdateResult.acknowledged(1, 1L, null);
+		}
+
+		private Map<String, Integer> frequency(String prefix) {
+			Map<String, Integer> frequency = new HashMap<>();
+			fields.forEach((path, value) -> {
+				if (path.startsWith(prefix)) {
+					frequency.put(path.substring(prefix.length()), ((Number) value).intValue());
+				}
+			});
+			return frequency;
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.eternify.backend.song.service.implementation;
+
+import com.eternify.backend.common.api.CursorPage;
+import com.eternify.backend.song.cache.ReferenceDataCache;
+import com.eternify.backend.song.dto.AlbumDTO;
+import com.eternify.backend.song.dto.SongDTO;
+import com.eternify.backend.song.model.*;
+import com.eternify.backend.user.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HydrationServiceImplTest {
+	private MongoTemplate mongoTemplate;
+	private HydrationServiceImpl hydrationService;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		ReferenceDataCache referenceDataCache = mock(ReferenceDataCache.class);
+		hydrationService = new HydrationServiceImpl(mongoTemplate, referenceDataCache);
+
+		User artist = new User();
+		artist.setId("artist");
+		when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(artist));
+		when(referenceDataCache.getCategory("category")).thenReturn(Category.builder().id("category").build());
+		when(referenceDataCache.getCountry("country")).thenReturn(Country.builder().id("country").build());
+		when(referenceDataCache.getTag("tag")).thenReturn(Tag.builder().id("tag").build());
+	}
+
+	@Test
+	void songQueryCountDoesNotDependOnResultSize() {
+		assertEquals(queriesForSongs(10), queriesForSongs(200));
+	}
+
+	@Test
+	void trackListingQueryCountDoesNotDependOnPageSize() {
+		assertEquals(queriesForTracks(10), queriesForTracks(100));
+	}
+
+	@Test
+	void songReferencesAreResolved() {
+		List<SongDTO> result = hydrationService.toSongDTOs(songs(3));
+
+		assertEquals(3, result.size());
+		assertEquals("artist", result.get(0).getArtist().getId());
+		assertEquals("category", result.get(0).getCategory().getId());
+		assertEquals("tag", result.get(0).getTags().get(0).getId());
+	}
+
+	@Test
+	void materialisedIdsAreHydratedOnlyWhilePublic() {
+		hydrationService.toPublicSongDTOsByIds(List.of("1", "2"));
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(query.capture(), eq(Song.class));
+		assertEquals(Status.PUBLIC.toString(), query.getValue().getQueryObject().get("status"));
+	}
+
+	@Test
+	void chartAlbumsAreSummarisedOnlyWhilePublic() {
+		hydrationService.toPublicAlbumSummariesByIds(List.of("1", "2"));
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(query.capture(), eq(Album.class));
+		assertEquals(Status.PUBLIC.toString(), query.getValue().getQueryObject().get("status"));
+	}
+
+	@Test
+	void artistsAreLoadedAsProjectedSummaries() {
+		hydrationService.toSongDTOs(songs(3));
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(query.capture(), eq(User.class));
+		assertEquals(new Document("firstName", 1).append("lastName", 1).append("persistentAvatarId", 1), query.getValue().getFieldsObject());
+	}
+
+	private int queriesForSongs(int count) {
+		clearInvocations(mongoTemplate);
+		hydrationService.toSongDTOs(songs(count));
+		return mockingDetails(mongoTemplate).getInvocations().size();
+	}
+
+	private int queriesForTracks(int trackCount) {
+		List<Song> songs = songs(trackCount);
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(songs);
+
+		List<AlbumTrack> tracks = songs.stream().map(song -> AlbumTrack.builder()
+				.albumId("album")
+				.songId(song.getId())
+				.build()).toList();
+
+		clearInvocations(mongoTemplate);
+		AlbumDTO result = hydrationService.toAlbumDTO(Album.builder().id("album").ownerId("artist").build(), new CursorPage<>(tracks, null));
+		assertEquals(trackCount, result.getSongs().size());
+		assertEquals("artist", result.getOwner().getId());
+		return mockingDetails(mongoTemplate).getInvocations().size();
+	}
+
+	private static List<Song> songs(int count) {
+		return IntStream.range(0, count).mapToObj(i -> Song.builder()
+				.id("song" + i)
+				.artistId("artist")
+				.categoryId("category")
+				.countryId("country")
+				.tags(List.of("tag"))
+				.build()).toList();
+	}
+}
@@ -0,0 +1,165 @@
+package com.eternify.backend.song.service.implementation;
+
+import com.eternify.backend.common.exception.BusinessException;
+import com.eternify.backend.song.listen.ListenHistoryStore;
+import com.eternify.backend.song.model.Song;
+import com.eternify.backend.song.model.Status;
+import com.eternify.backend.song.service.RecommendationFeedService;
+import com.eternify.backend.song.trending.TrendingCharts;
+import com.eternify.backend.song.trending.TrendingKind;
+import com.eternify.backend.suggest.model.SuggestionKind;
+import com.eternify.backend.suggest.service.SuggestService;
+import com.eternify.backend.user.model.CustomUserDetails;
+import com.eternify.backend.user.model.User;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SongServiceImplTest {
+	private MongoTemplate mongoTemplate;
+	private SuggestService suggestService;
+	private RecommendationFeedService recommendationFeedService;
+	private TrendingCharts trendingCharts;
+	private SongServiceImpl songService;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		suggestService = mock(SuggestService.class);
+		recommendationFeedService = mock(RecommendationFeedService.class);
+		trendingCharts = mock(TrendingCharts.class);
+		songService = new SongServiceImpl(mongoTemplate, null, suggestService, recommendationFeedService, null, null,
+				mock(ListenHistoryStore.class), null, trendingCharts, null);
+
+		User user = new User();
+		user.setId("user");
+		user.setRole("USER");
+		CustomUserDetails principal = new CustomUserDetails(user, true, true, true, true);
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+		Song song = Song.builder().id("song").categoryId("category").countryId("country").tags(List.of("pop", "ballad")).build();
+		when(mongoTemplate.findById("song", Song.class)).thenReturn(song);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void favoriteIsAConditionalIncAndPush() {
+		givenModified(1);
+
+		songService.favoriteSong("song");
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+		verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(User.class));
+
+		assertEquals(new Document("$ne", "song"), query.getValue().getQueryObject().get("userPref.favoriteSongs"));
+		Document applied = update.getValue().getUpdateObject();
+		assertEquals(new Document("userPref.tagFrequency.pop", 10).append("userPref.tagFrequency.ballad", 10)
+				.append("userPref.categoryFrequency.category", 10).append("userPref.countryFrequency.country", 10), applied.get("$inc"));
+		assertEquals(new Document("userPref.favoriteSongs", "song"), applied.get("$push"));
+
+		verify(mongoTemplate, never()).save(any(User.class));
+		verify(recommendationFeedService).markDirty("user");
+		verify(trendingCharts).recordFavorite(TrendingKind.SONG, "song");
+	}
+
+	@Test
+	void repeatedFavoriteDoesNotCountTwice() {
+		givenModified(0);
+
+		songService.favoriteSong("song");
+
+		verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(User.class));
+		verify(mongoTemplate, never()).save(any(User.class));
+		verifyNoInteractions(recommendationFeedService, trendingCharts);
+	}
+
+	@Test
+	void unfavoriteIsAConditionalDecrementAndPull() {
+		givenModified(1);
+
+		songService.unfavoriteSong("song");
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+		verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(User.class));
+
+		assertEquals("song", query.getValue().getQueryObject().get("userPref.favoriteSongs"));
+		Document applied = update.getValue().getUpdateObject();
+		assertEquals(-10, ((Document) applied.get("$inc")).get("userPref.categoryFrequency.category"));
+		assertEquals(new Document("userPref.favoriteSongs", "song"), applied.get("$pull"));
+		verify(mongoTemplate, never()).save(any(User.class));
+	}
+
+	@Test
+	void unfavoriteOfASongNotInTheListChangesNothing() {
+		givenModified(0);
+
+		BusinessException exception = assertThrows(BusinessException.class, () -> songService.unfavoriteSong("song"));
+
+		assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+		verifyNoInteractions(recommendationFeedService, trendingCharts);
+	}
+
+	@Test
+	void directListensAreASingleSummedInc() {
+		Song first = Song.builder().id("a").categoryId("category").tags(List.of("pop")).build();
+		Song second = Song.builder().id("b").categoryId("category").tags(List.of("pop")).build();
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(List.of(first, second));
+
+		songService.updateFavouriteArtistForRecommendations(List.of("artist"));
+
+		ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(User.class));
+		assertEquals(new Document("$inc", new Document("userPref.tagFrequency.pop", 2).append("userPref.categoryFrequency.category", 2)),
+				update.getValue().getUpdateObject());
+		verify(mongoTemplate, never()).save(any(User.class));
+	}
+
+	@Test
+	void listenToAnUnknownSongIsRejectedBeforeAnythingIsCounted() {
+		when(mongoTemplate.exists(any(Query.class), eq(Song.class))).thenReturn(false);
+
+		BusinessException exception = assertThrows(BusinessException.class, () -> songService.songListened("missing"));
+
+		assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+		verifyNoInteractions(trendingCharts);
+	}
+
+	@Test
+	void closingAndOpeningASongUpdatesSuggestions() {
+		Song song = Song.builder().id("own").title("Title").artistId("user").status(Status.PUBLIC.toString()).build();
+		when(mongoTemplate.findById("own", Song.class)).thenReturn(song);
+		when(mongoTemplate.save(song)).thenReturn(song);
+
+		songService.closeSong("own");
+		verify(suggestService).remove(SuggestionKind.SONG, "own");
+
+		songService.openSong("own");
+		verify(suggestService).upsert(SuggestionKind.SONG, "own", "Title");
+	}
+
+	private void givenModified(long count) {
+		when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(User.class)))
+				.thenReturn(UpdateResult.acknowledged(count, count, null));
+	}
+}
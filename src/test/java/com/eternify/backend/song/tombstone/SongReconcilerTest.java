@@ -0,0 +1,100 @@
+package com.eternify.backend.song.tombstone;
+
+import com.eternify.backend.song.facet.AlbumStatsUpdater;
+import com.eternify.backend.song.model.Album;
+import com.eternify.backend.song.model.AlbumTrack;
+import com.eternify.backend.song.model.ListenHistory;
+import com.eternify.backend.song.model.SongTombstone;
+import com.eternify.backend.user.model.User;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SongReconcilerTest {
+	private MongoTemplate mongoTemplate;
+	private SongReconciler reconciler;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		reconciler = new SongReconciler(mongoTemplate, new AlbumStatsUpdater(mongoTemplate));
+		ReflectionTestUtils.setField(reconciler, "batchSize", 10);
+		ReflectionTestUtils.setField(reconciler, "documentsPerSecond", 1000.0);
+		reconciler.initRateLimiter();
+
+		when(mongoTemplate.find(any(Query.class), eq(SongTombstone.class))).thenReturn(List.of(SongTombstone.builder()
+				.id("song")
+				.categoryId("category")
+				.countryId("country")
+				.tags(List.of("tag"))
+				.length(100)
+				.build()));
+		when(mongoTemplate.find(any(Query.class), eq(AlbumTrack.class))).thenReturn(List.of(
+				AlbumTrack.builder().id("track1").albumId("album1").build(),
+				AlbumTrack.builder().id("track2").albumId("album2").build()));
+		when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of());
+		when(mongoTemplate.find(any(Query.class), eq(ListenHistory.class))).thenReturn(List.of());
+		when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), any(Class.class)))
+				.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+	}
+
+	@Test
+	void onlyAlbumsWhoseTrackWasStillThereAreDecremented() {
+		when(mongoTemplate.remove(any(Query.class), eq(AlbumTrack.class)))
+				.thenReturn(DeleteResult.acknowledged(1), DeleteResult.acknowledged(0));
+
+		reconciler.reconcile();
+
+		ArgumentCaptor<Query> albumQueries = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).updateFirst(albumQueries.capture(), any(UpdateDefinition.class), eq(Album.class));
+		assertEquals(new Document("_id", "album1"), albumQueries.getValue().getQueryObject());
+		assertEquals(1, reconciler.getStats().getAlbumTracksRemoved());
+		assertEquals(1, reconciler.getStats().getReconciled());
+	}
+
+	@Test
+	void failedAlbumUpdateKeepsTheTombstonePendingWithTheAlbumRecorded() {
+		when(mongoTemplate.remove(any(Query.class), eq(AlbumTrack.class))).thenReturn(DeleteResult.acknowledged(1));
+		when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(Album.class)))
+				.thenThrow(new DataAccessResourceFailureException("down"));
+
+		reconciler.reconcile();
+
+		ArgumentCaptor<UpdateDefinition> updates = ArgumentCaptor.forClass(UpdateDefinition.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), updates.capture(), eq(SongTombstone.class));
+		assertEquals(new Document("$addToSet", new Document("pendingAlbums", "album1")), updates.getValue().getUpdateObject());
+		assertEquals(0, reconciler.getStats().getReconciled());
+	}
+
+	@Test
+	void recordedAlbumsAreRecountedOnRetry() {
+		when(mongoTemplate.find(any(Query.class), eq(SongTombstone.class))).thenReturn(List.of(SongTombstone.builder()
+				.id("song")
+				.pendingAlbums(List.of("album1"))
+				.build()));
+		when(mongoTemplate.find(any(Query.class), eq(AlbumTrack.class))).thenReturn(List.of());
+		when(mongoTemplate.findOne(any(Query.class), eq(Album.class))).thenReturn(Album.builder().id("album1").version(3L).build());
+
+		reconciler.reconcile();
+
+		ArgumentCaptor<UpdateDefinition> updates = ArgumentCaptor.forClass(UpdateDefinition.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), updates.capture(), eq(Album.class));
+		assertEquals(0, ((Document) updates.getValue().getUpdateObject().get("$set")).get("songCount"));
+		assertEquals(1, reconciler.getStats().getAlbumsRecounted());
+		assertEquals(1, reconciler.getStats().getReconciled());
+	}
+}
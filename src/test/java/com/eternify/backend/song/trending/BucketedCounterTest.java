@@ -0,0 +1,96 @@
+package com.eternify.backend.song.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BucketedCounterTest {
+	@Test
+	void windowOnlySumsRecentHours() {
+		BucketedCounter counter = new BucketedCounter(24, 100);
+		counter.add("old", 5, 100);
+		counter.add("song", 1, 122);
+		counter.add("song", 2, 123);
+
+		assertEquals(Map.of("song", 3L), counter.totals(123, 2));
+		assertEquals(Map.of("old", 5L, "song", 3L), counter.totals(123, 24));
+		assertEquals(Map.of("song", 3L), counter.totals(124, 24));
+	}
+
+	@Test
+	void hoursThatLeftTheRingAreDropped() {
+		BucketedCounter counter = new BucketedCounter(24, 100);
+		counter.add("song", 1, 124);
+		counter.add("song", 1, 100);
+
+		assertEquals(Map.of("song", 1L), counter.totals(124, 24));
+	}
+
+	@Test
+	void changesAreDeltasSinceTheLastPersistedWrite() {
+		BucketedCounter counter = new BucketedCounter(24, 100);
+		counter.add("song", 1, 10);
+
+		List<BucketedCounter.Change> changes = counter.changes();
+		assertEquals(List.of(new BucketedCounter.Change(10, "song", 1, 1)), changes);
+		counter.markPersisted(changes);
+		assertTrue(counter.changes().isEmpty());
+
+		counter.add("song", 2, 10);
+		assertEquals(List.of(new BucketedCounter.Change(10, "song", 2, 3)), counter.changes());
+	}
+
+	@Test
+	void unpersistedChangesAreReportedAgain() {
+		BucketedCounter counter = new BucketedCounter(24, 100);
+		counter.add("song", 1, 10);
+		counter.changes();
+
+		counter.add("song", 1, 10);
+		assertEquals(List.of(new BucketedCounter.Change(10, "song", 2, 2)), counter.changes());
+	}
+
+	@Test
+	void loadedCountsAreNotWrittenBack() {
+		BucketedCounter counter = new BucketedCounter(24, 100);
+		counter.load("song", 7, 10);
+		assertTrue(counter.changes().isEmpty());
+
+		counter.add("song", 1, 10);
+		assertEquals(List.of(new BucketedCounter.Change(10, "song", 1, 8)), counter.changes());
+	}
+
+	@Test
+	void newIdsAreDroppedOnceABucketIsFull() {
+		BucketedCounter counter = new BucketedCounter(24, 2);
+		counter.add("a", 1, 10);
+		counter.add("b", 1, 10);
+		counter.add("c", 1, 10);
+		counter.add("a", 1, 10);
+		counter.add("c", 1, 11);
+
+		assertEquals(Map.of("a", 2L, "b", 1L), counter.totals(10, 1));
+		assertEquals(Map.of("c", 1L), counter.totals(11, 1));
+	}
+
+	@Test
+	void concurrentIncrementsAreNotLost() throws InterruptedException {
+		BucketedCounter counter = new BucketedCounter(24, 100);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		for (int i = 0; i < 80_000; i++) {
+			String id = "song" + i % 10;
+			executor.execute(() -> counter.add(id, 1, 50));
+		}
+
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		assertEquals(80_000L, counter.totals(50, 1).values().stream().mapToLong(Long::longValue).sum());
+	}
+}
@@ -0,0 +1,98 @@
+package com.eternify.backend.song.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+	private static final double EPSILON = 0.001;
+	private static final double DELTA = 0.01;
+	private static final int K = 20;
+
+	@Test
+	void stateStaysTheSameSizeAsDistinctSongsGrow() {
+		for (int distinct : new int[]{1_000, 100_000, 1_000_000}) {
+			HeavyHitters hitters = feed(distinct, 0);
+
+			assertEquals(CountMinSketch.withErrorBounds(EPSILON, DELTA).toArray().length, hitters.getSketch().toArray().length);
+			assertTrue(hitters.candidates().size() <= K);
+		}
+	}
+
+	@Test
+	void plantedHeavyHittersAreFoundInTheNoise() {
+		HeavyHitters hitters = feed(500_000, 42);
+
+		assertEquals(Set.of("hot0", "hot1", "hot2", "hot3", "hot4"), new HashSet<>(hitters.top(5)));
+	}
+
+	@Test
+	void estimatesStayWithinTheErrorBound() {
+		CountMinSketch sketch = CountMinSketch.withErrorBounds(EPSILON, DELTA);
+		int total = 200_000;
+
+		for (int i = 0; i < total; i++) {
+			sketch.add("song" + i % 50_000, 1);
+		}
+
+		int overBound = 0;
+
+		for (int i = 0; i < 1000; i++) {
+			long estimate = sketch.estimate("song" + i);
+			assertTrue(estimate >= 4);
+
+			if (estimate > 4 + EPSILON * total) {
+				overBound++;
+			}
+		}
+
+		assertTrue(overBound <= 1000 * DELTA);
+	}
+
+	@Test
+	void mergedNodesAgreeWithASingleSketch() {
+		HeavyHitters first = new HeavyHitters(CountMinSketch.withErrorBounds(EPSILON, DELTA), K);
+		HeavyHitters second = new HeavyHitters(CountMinSketch.withErrorBounds(EPSILON, DELTA), K);
+		HeavyHitters single = new HeavyHitters(CountMinSketch.withErrorBounds(EPSILON, DELTA), K);
+		Random random = new Random(7);
+
+		for (int i = 0; i < 200_000; i++) {
+			String id = i % 4 == 0 ? "hot" + random.nextInt(5) : "song" + random.nextInt(100_000);
+			(i % 2 == 0 ? first : second).add(id);
+			single.add(id);
+		}
+
+		Set<String> candidates = new HashSet<>(first.candidates());
+		candidates.addAll(second.candidates());
+		List<String> merged = HeavyHitters.merge(List.of(first.getSketch(), second.getSketch()), candidates, 5);
+
+		assertEquals(new HashSet<>(single.top(5)), new HashSet<>(merged));
+		assertArrayEquals(single.getSketch().toArray(), sumOf(first.getSketch(), second.getSketch()));
+	}
+
+	private static HeavyHitters feed(int distinct, long seed) {
+		HeavyHitters hitters = new HeavyHitters(CountMinSketch.withErrorBounds(EPSILON, DELTA), K);
+		Random random = new Random(seed);
+
+		for (int i = 0; i < distinct; i++) {
+			hitters.add("song" + i);
+
+			if (i % 10 == 0) {
+				hitters.add("hot" + random.nextInt(5));
+			}
+		}
+
+		return hitters;
+	}
+
+	private static long[] sumOf(CountMinSketch a, CountMinSketch b) {
+		CountMinSketch sum = CountMinSketch.of(a.getWidth(), a.getDepth(), a.toArray());
+		sum.merge(b);
+		return sum.toArray();
+	}
+}
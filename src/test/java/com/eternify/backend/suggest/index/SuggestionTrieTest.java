@@ -0,0 +1,79 @@
+package com.eternify.backend.suggest.index;
+
+import com.eternify.backend.suggest.model.SuggestionEntry;
+import com.eternify.backend.suggest.model.SuggestionKind;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+	private final SuggestionTrie trie = SuggestionTrie.build(List.of(
+			new SuggestionEntry("1", "Lạc Trôi", SuggestionKind.SONG, 5),
+			new SuggestionEntry("2", "Lạc Nhau Có Phải Muôn Đời", SuggestionKind.SONG, 50),
+			new SuggestionEntry("3", "Sơn Tùng M-TP", SuggestionKind.ARTIST, 100),
+			new SuggestionEntry("4", "#lofi", SuggestionKind.TAG, 1)
+	), 2);
+
+	@Test
+	void prefixReturnsMostPopularFirst() {
+		assertEquals(List.of("2", "1"), ids(trie.suggest("lac", 10)));
+		assertEquals(List.of("2", "1"), ids(trie.suggest("Lạc", 10)));
+	}
+
+	@Test
+	void laterWordsAreSearchable() {
+		assertEquals(List.of("3"), ids(trie.suggest("tung", 10)));
+		assertEquals(List.of("1"), ids(trie.suggest("troi", 10)));
+		assertEquals(List.of("4"), ids(trie.suggest("lo", 10)));
+	}
+
+	@Test
+	void resultsAreBoundedByTopK() {
+		assertEquals(2, trie.suggest("l", 10).size());
+		assertEquals(1, trie.suggest("l", 1).size());
+	}
+
+	@Test
+	void unknownPrefixIsEmpty() {
+		assertTrue(trie.suggest("lax", 10).isEmpty());
+		assertTrue(trie.suggest("", 10).isEmpty());
+		assertTrue(SuggestionTrie.EMPTY.suggest("lac", 10).isEmpty());
+	}
+
+	@Test
+	void incrementalUpdatesMatchAFullBuild() {
+		SuggestionEntry lacTroi = new SuggestionEntry("1", "Lạc Trôi", SuggestionKind.SONG, 5);
+		SuggestionEntry lacNhau = new SuggestionEntry("2", "Lạc Nhau Có Phải Muôn Đời", SuggestionKind.SONG, 50);
+		SuggestionEntry sonTung = new SuggestionEntry("3", "Sơn Tùng M-TP", SuggestionKind.ARTIST, 100);
+		SuggestionEntry lofi = new SuggestionEntry("4", "#lofi", SuggestionKind.TAG, 1);
+		SuggestionEntry lac = new SuggestionEntry("5", "Lac", SuggestionKind.TAG, 7);
+
+		SuggestionTrie incremental = SuggestionTrie.build(List.of(), 2)
+				.with(lacTroi).with(lacNhau).with(sonTung).with(lofi).with(lac)
+				.without(lacNhau);
+		SuggestionTrie built = SuggestionTrie.build(List.of(lacTroi, sonTung, lofi, lac), 2);
+
+		for (String prefix : List.of("l", "la", "lac", "lac t", "lo", "t", "tung", "nhau", "son", "x")) {
+			assertEquals(ids(built.suggest(prefix, 10)), ids(incremental.suggest(prefix, 10)), prefix);
+		}
+
+		assertEquals(4, incremental.size());
+		assertTrue(trie.suggest("lac", 10).contains(lacNhau), "earlier versions are left untouched");
+	}
+
+	@Test
+	void removingEveryEntryLeavesAnEmptyTrie() {
+		SuggestionEntry lacTroi = new SuggestionEntry("1", "Lạc Trôi", SuggestionKind.SONG, 5);
+		SuggestionTrie emptied = SuggestionTrie.build(List.of(lacTroi), 2).without(lacTroi);
+
+		assertTrue(emptied.suggest("l", 10).isEmpty());
+		assertTrue(emptied.suggest("troi", 10).isEmpty());
+		assertEquals(List.of("1"), ids(emptied.with(lacTroi).suggest("troi", 10)));
+	}
+
+	private static List<String> ids(List<SuggestionEntry> entries) {
+		return entries.stream().map(SuggestionEntry::id).toList();
+	}
+}
@@ -0,0 +1,43 @@
+package com.eternify.backend.suggest.service.implementation;
+
+import com.eternify.backend.suggest.dto.SuggestionDTO;
+import com.eternify.backend.suggest.model.SuggestionKind;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SuggestServiceImplTest {
+	@Test
+	void changesMadeDuringAReloadSurviveIt() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		SuggestServiceImpl service = new SuggestServiceImpl(mongoTemplate);
+		ReflectionTestUtils.setField(service, "topK", 10);
+		service.initTrie();
+		service.upsert(SuggestionKind.SONG, "gone", "Lạc Trôi");
+
+		when(mongoTemplate.aggregate(any(Aggregation.class), anyString(), eq(Document.class)))
+				.thenReturn(new AggregationResults<>(List.of(), new Document()));
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), anyString())).thenReturn(List.of());
+		when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("song"))).thenAnswer(invocation -> {
+			service.remove(SuggestionKind.SONG, "gone");
+			service.upsert(SuggestionKind.SONG, "fresh", "Lạc Nhau");
+			return List.of(new Document("_id", "gone").append("title", "Lạc Trôi"));
+		});
+
+		service.reload();
+
+		assertEquals(List.of("fresh"), service.suggest("lac", 10).stream().map(SuggestionDTO::getId).toList());
+	}
+}
@@ -0,0 +1,55 @@
+package com.eternify.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionKeysTest {
+
+	@Test
+	void appendingTenThousandKeysStaysOrderedAndShort() {
+		List<String> keys = PositionKeys.after(null, 10_000);
+
+		assertAscending(keys);
+		assertTrue(keys.get(keys.size() - 1).length() <= 4);
+	}
+
+	@Test
+	void betweenIsStrictlyBetween() {
+		assertTrue("a0".compareTo(PositionKeys.between("a0", "a1")) < 0);
+		assertTrue(PositionKeys.between("a0", "a1").compareTo("a1") < 0);
+		assertTrue(PositionKeys.between(null, "a0").compareTo("a0") < 0);
+		assertTrue(PositionKeys.between("a0", null).compareTo("a0") > 0);
+	}
+
+	@Test
+	void randomMovesKeepOrder() {
+		Random random = new Random(42);
+		List<String> keys = new ArrayList<>(PositionKeys.after(null, 100));
+
+		for (int i = 0; i < 5_000; i++) {
+			keys.remove(random.nextInt(keys.size()));
+			int target = random.nextInt(keys.size() + 1);
+			String before = target == 0 ? null : keys.get(target - 1);
+			String after = target == keys.size() ? null : keys.get(target);
+			keys.add(target, PositionKeys.between(before, after));
+		}
+
+		assertAscending(keys);
+	}
+
+	@Test
+	void rejectsReversedBounds() {
+		assertThrows(IllegalArgumentException.class, () -> PositionKeys.between("a1", "a0"));
+	}
+
+	private static void assertAscending(List<String> keys) {
+		for (int i = 1; i < keys.size(); i++) {
+			assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0, keys.get(i - 1) + " >= " + keys.get(i));
+		}
+	}
+}
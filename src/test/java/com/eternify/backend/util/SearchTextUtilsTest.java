@@ -0,0 +1,88 @@
+package com.eternify.backend.util;
+
+import com.eternify.backend.song.model.Song;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SearchTextUtilsTest {
+	@Test
+	void vietnameseDiacriticsAreStripped() {
+		assertEquals("son tung m tp", SearchTextUtils.normalize("Sơn Tùng M-TP"));
+		assertEquals("duong toi cho em ve", SearchTextUtils.normalize("Đường Tới Chờ Em Về"));
+	}
+
+	@Test
+	void prefixesCoverEveryWord() {
+		List<String> prefixes = SearchTextUtils.prefixes("Lạc Trôi");
+
+		assertTrue(prefixes.containsAll(List.of("l", "la", "lac", "t", "tr", "tro", "troi")));
+		assertFalse(prefixes.contains("roi"));
+		assertTrue(SearchTextUtils.trigrams("Lạc Trôi").contains("roi"));
+	}
+
+	@Test
+	void prefixMatchesRankBeforeInfixMatches() {
+		assertEquals(0, SearchTextUtils.rank("Em Của Ngày Hôm Qua", "em"));
+		assertEquals(1, SearchTextUtils.rank("Nắng Ấm Xa Dần Em", "em"));
+		assertEquals(2, SearchTextUtils.rank("Remember Me", "em"));
+	}
+
+	@Test
+	void shortQueryWordsHaveNoTrigrams() {
+		assertTrue(SearchTextUtils.queryTrigrams(List.of("em", "oi")).isEmpty());
+		assertEquals(List.of("cua"), SearchTextUtils.queryTrigrams(List.of("em", "cua")));
+	}
+
+	@Test
+	void leadingPrefixesCoverTheWholeTextAsAPhrase() {
+		assertEquals(List.of("s", "so", "son", "son ", "son t", "son tu"), SearchTextUtils.leadingPrefixes("Sơn Tú"));
+		assertEquals(SearchTextUtils.MAX_PREFIX_LENGTH, SearchTextUtils.leadingPrefixes("a".repeat(50)).size());
+	}
+
+	@Test
+	void findRankedOrdersByTierThenLength() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		Song infix = Song.builder().id("1").title("Nhung Son Tung").build();
+		Song longLeading = Song.builder().id("2").title("Son Tung Live Concert").build();
+		Song shortLeading = Song.builder().id("3").title("Son Tung").build();
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(List.of(infix, longLeading, shortLeading));
+
+		List<Song> ranked = SearchTextUtils.findRanked(mongoTemplate, Query::new, Song.class, Song::getId, Song::getTitle, "son tung");
+
+		assertEquals(List.of(shortLeading, longLeading, infix), ranked);
+	}
+
+	@Test
+	void shortQueriesHaveNoInfixTier() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(List.of());
+
+		SearchTextUtils.findRanked(mongoTemplate, Query::new, Song.class, Song::getId, Song::getTitle, "em oi");
+
+		verify(mongoTemplate, times(2)).find(any(Query.class), eq(Song.class));
+	}
+
+	@Test
+	void shortWordsFilterInfixMatchesWithoutDiacritics() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		Song match = Song.builder().id("1").title("Nhớ Em Người Ơi").build();
+		Song other = Song.builder().id("2").title("Người Lạ").build();
+		when(mongoTemplate.find(any(Query.class), eq(Song.class))).thenReturn(List.of(), List.of(), List.of(match, other));
+
+		List<Song> ranked = SearchTextUtils.findRanked(mongoTemplate, Query::new, Song.class, Song::getId, Song::getTitle, "em nguoi");
+
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate, times(3)).find(queries.capture(), eq(Song.class));
+		assertTrue(queries.getAllValues().get(2).getQueryObject().containsKey("searchTrigrams"));
+		assertEquals(List.of(match), ranked);
+	}
+}